@@ -0,0 +1,60 @@
+package com.example.helpdesk.benchmark;
+
+import java.lang.reflect.Field;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+
+final class Benchmarks {
+
+	private static final int SEED_BATCH_SIZE = 10000;
+
+	private Benchmarks() {
+
+	}
+
+	/**
+	 * Sets an injected field of a bean created outside of Spring.
+	 */
+	static void setField(Object target, String name, Object value) {
+		Field field = ReflectionUtils.findField(target.getClass(), name);
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, target, value);
+	}
+
+	static long insertUser(JdbcTemplate jdbcTemplate, String email, String profile) {
+		jdbcTemplate.update("INSERT INTO user (email, password, profile) VALUES (?, ?, ?)", email,
+				"$2a$10$mBulBb00T5QNpRVPP8tQcOFtQC8vOWnquMGuioYLhY0e9O1ouKEam", profile);
+		return jdbcTemplate.queryForObject("SELECT id FROM user WHERE email = ?", Long.class, email);
+	}
+
+	/**
+	 * Inserts {@code tickets} tickets of the customer spread over every
+	 * status, priority and the last year; all but the new ones are assigned
+	 * to the technician.
+	 */
+	static void seedTickets(JdbcTemplate jdbcTemplate, int tickets, long customerId, long technicianId) {
+		StatusEnum[] statuses = StatusEnum.values();
+		PriorityEnum[] priorities = PriorityEnum.values();
+		LocalDate today = LocalDate.now();
+		List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+		for (int i = 1; i <= tickets; i++) {
+			StatusEnum status = statuses[i % statuses.length];
+			batch.add(new Object[] { customerId, status == StatusEnum.New ? null : technicianId,
+					Date.valueOf(today.minusDays(i % 365)), "Printer " + i, (long) i, status.name(),
+					priorities[i % priorities.length].name(), "Ticket seeded for the benchmark " + i });
+			if (batch.size() == SEED_BATCH_SIZE || i == tickets) {
+				jdbcTemplate.batchUpdate("INSERT INTO ticket (id, user_id, assigned_user_id, date, title, number, status, "
+						+ "priority, description) VALUES (NEXT VALUE FOR ticket_id_seq, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+	}
+}
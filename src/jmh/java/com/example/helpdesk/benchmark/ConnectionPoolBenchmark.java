@@ -0,0 +1,147 @@
+package com.example.helpdesk.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.helpdesk.HelpDeskApplication;
+import com.example.helpdesk.dto.TicketSummaryView;
+import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.impl.TimedDataSource;
+
+/**
+ * Load test of the filtered ticket listing behind {@code findByParams}:
+ * {@value #CLIENTS} concurrent clients against a connection pool of
+ * {@code poolSize} connections. Throughput stops growing once the pool
+ * covers the concurrency the database can actually serve; the pool wait
+ * reported with the throughput of each iteration shows the clients queueing
+ * for a connection below that point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+@Threads(ConnectionPoolBenchmark.CLIENTS)
+public class ConnectionPoolBenchmark {
+
+	static final int CLIENTS = 16;
+
+	private static final int TICKETS = 100000;
+
+	private static final int PAGE_SIZE = 20;
+
+	private static final String[] STATUSES = { "", "New", "Assigned", "Resolved" };
+
+	// at least two: ticket numbers are reserved in a transaction of their own
+	@Param({ "2", "4", "8", "16" })
+	private int poolSize;
+
+	private ConfigurableApplicationContext context;
+
+	private TicketService ticketService;
+
+	private TimedDataSource dataSource;
+
+	private final AtomicBoolean reported = new AtomicBoolean();
+
+	private long acquired;
+
+	private long waitNanos;
+
+	private long timeouts;
+
+	@Setup
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(HelpDeskApplication.class)
+				.web(false)
+				.logStartupInfo(false)
+				// H2 serializes the statements of a database unless it runs multi-threaded
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE;"
+						+ "OPTIMIZE_REUSE_RESULTS=0;MULTI_THREADED=1",
+						"logging.level.root=WARN")
+				// arguments, to take precedence over the pool of application.properties
+				.run("--spring.datasource.tomcat.initial-size=" + this.poolSize,
+						"--spring.datasource.tomcat.min-idle=" + this.poolSize,
+						"--spring.datasource.tomcat.max-idle=" + this.poolSize,
+						"--spring.datasource.tomcat.max-active=" + this.poolSize,
+						"--spring.datasource.tomcat.max-wait=60000");
+		JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+		long customerId = Benchmarks.insertUser(jdbcTemplate, "customer@helpdesk.com", "ROLE_CUSTOMER");
+		long technicianId = Benchmarks.insertUser(jdbcTemplate, "technician@helpdesk.com", "ROLE_TECHNICIAN");
+		Benchmarks.seedTickets(jdbcTemplate, TICKETS, customerId, technicianId);
+		this.ticketService = this.context.getBean(TicketService.class);
+		this.dataSource = (TimedDataSource) this.context.getBean(DataSource.class);
+	}
+
+	@Setup(Level.Iteration)
+	public void startIteration() {
+		this.acquired = this.dataSource.getAcquired();
+		this.waitNanos = this.dataSource.getWaitNanos();
+		this.timeouts = this.dataSource.getTimeouts();
+		this.reported.set(false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Page<TicketSummaryView> findByParameters(PoolWait poolWait) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String status = STATUSES[random.nextInt(STATUSES.length)];
+		return this.ticketService.findByParameters(random.nextInt(50), PAGE_SIZE, "printer 1", status, "", null);
+	}
+
+	/**
+	 * Connections taken from the pool during the iteration, the time spent
+	 * waiting for them and the requests that gave up, reported by JMH next
+	 * to the throughput. The data source counts for the whole pool while JMH
+	 * adds up the counters of every thread, so only the first thread to end
+	 * the iteration reports them.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PoolWait {
+
+		public long acquired;
+
+		public double waitMillis;
+
+		public long timeouts;
+
+		@TearDown(Level.Iteration)
+		public void endIteration(ConnectionPoolBenchmark benchmark) {
+			boolean first = benchmark.reported.compareAndSet(false, true);
+			TimedDataSource dataSource = benchmark.dataSource;
+			this.acquired = first ? dataSource.getAcquired() - benchmark.acquired : 0;
+			this.waitMillis = first ? (double) (dataSource.getWaitNanos() - benchmark.waitNanos)
+					/ TimeUnit.MILLISECONDS.toNanos(1) : 0;
+			this.timeouts = first ? dataSource.getTimeouts() - benchmark.timeouts : 0;
+		}
+	}
+}
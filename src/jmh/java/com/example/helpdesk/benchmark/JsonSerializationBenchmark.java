@@ -0,0 +1,110 @@
+package com.example.helpdesk.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.helpdesk.dto.TicketSummaryView;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.response.Response;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Serialization of a listing page as the full entities and as the
+ * {@link TicketSummaryView} rows the list endpoints return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+	@Param({ "10", "50" })
+	private int count;
+
+	private ObjectMapper objectMapper;
+
+	private Response<Page<Ticket>> tickets;
+
+	private Response<Page<TicketSummaryView>> summaries;
+
+	@Setup
+	public void setUp() {
+		this.objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+
+		User customer = user(1L, "customer@helpdesk.com", ProfileEnum.ROLE_CUSTOMER);
+		User technician = user(2L, "technician@helpdesk.com", ProfileEnum.ROLE_TECHNICIAN);
+		StringBuilder description = new StringBuilder();
+		while (description.length() < 1000) {
+			description.append("The printer on the second floor does not print. ");
+		}
+		List<Ticket> ticketList = new ArrayList<>();
+		List<TicketSummaryView> summaryList = new ArrayList<>();
+		for (long i = 1; i <= this.count; i++) {
+			Ticket ticket = new Ticket();
+			ticket.setId(i);
+			ticket.setNumber(i);
+			ticket.setTitle("Printer " + i);
+			ticket.setStatus(StatusEnum.values()[(int) (i % StatusEnum.values().length)]);
+			ticket.setPriority(PriorityEnum.values()[(int) (i % PriorityEnum.values().length)]);
+			ticket.setDate(LocalDate.now());
+			ticket.setDescription(description.toString());
+			ticket.setUser(customer);
+			ticket.setAssignedUser(technician);
+			ticketList.add(ticket);
+			summaryList.add(new TicketSummaryView(ticket.getId(), ticket.getNumber(), ticket.getTitle(),
+					ticket.getStatus(), ticket.getPriority(), ticket.getDate(), customer.getEmail(),
+					technician.getEmail()));
+		}
+		this.tickets = new Response<>();
+		this.tickets.setData(new PageImpl<>(ticketList, new PageRequest(0, this.count), 100000));
+		this.summaries = new Response<>();
+		this.summaries.setData(new PageImpl<>(summaryList, new PageRequest(0, this.count), 100000));
+	}
+
+	private static User user(Long id, String email, ProfileEnum profile) {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(email);
+		user.setPassword("$2a$10$mBulBb00T5QNpRVPP8tQcOFtQC8vOWnquMGuioYLhY0e9O1ouKEam");
+		user.setProfile(profile);
+		return user;
+	}
+
+	@Benchmark
+	public byte[] ticketPage() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.tickets);
+	}
+
+	@Benchmark
+	public byte[] summaryViewPage() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.summaries);
+	}
+}
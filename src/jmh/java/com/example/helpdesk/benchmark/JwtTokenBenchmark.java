@@ -0,0 +1,77 @@
+package com.example.helpdesk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.security.jwt.JwtTokenUtil;
+import com.example.helpdesk.security.jwt.JwtUserFactory;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Token generation and the per-request token parsing. {@code verifySignature}
+ * is the full parse every call paid before the claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+	private static final String SECRET = "helpDesk";
+
+	private JwtTokenUtil jwtTokenUtil;
+
+	private UserDetails userDetails;
+
+	private String token;
+
+	@Setup
+	public void setUp() {
+		this.jwtTokenUtil = new JwtTokenUtil();
+		Benchmarks.setField(this.jwtTokenUtil, "secret", SECRET);
+		Benchmarks.setField(this.jwtTokenUtil, "expiration", 604800L);
+		Benchmarks.setField(this.jwtTokenUtil, "claimsCacheSize", 10000L);
+		Benchmarks.setField(this.jwtTokenUtil, "claimsCacheTtl", 600L);
+		this.jwtTokenUtil.init();
+
+		User user = new User();
+		user.setId(1L);
+		user.setEmail("customer@helpdesk.com");
+		user.setPassword("password");
+		user.setProfile(ProfileEnum.ROLE_CUSTOMER);
+		this.userDetails = JwtUserFactory.create(user);
+		this.token = this.jwtTokenUtil.generateToken(this.userDetails);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return this.jwtTokenUtil.generateToken(this.userDetails);
+	}
+
+	@Benchmark
+	public String getUsernameFromToken() {
+		return this.jwtTokenUtil.getUsernameFromToken(this.token);
+	}
+
+	@Benchmark
+	public Claims verifySignature() {
+		return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(this.token).getBody();
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.helpdesk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.helpdesk.HelpDeskApplication;
+import com.example.helpdesk.controller.TicketController;
+import com.example.helpdesk.dto.CursorPage;
+import com.example.helpdesk.dto.Summary;
+import com.example.helpdesk.dto.TicketSummaryView;
+import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.impl.TicketStatusCounter;
+
+/**
+ * Ticket filters and the summary against an in-memory H2 database seeded with
+ * {@code tickets} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class TicketQueryBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	private static final int SKIP_STEP = 1000;
+
+	@Param({ "10000", "100000", "1000000" })
+	private int tickets;
+
+	private ConfigurableApplicationContext context;
+
+	private TicketService ticketService;
+
+	private TicketController ticketController;
+
+	private long customerId;
+
+	private int deepPage;
+
+	private String deepCursor;
+
+	@Setup
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(HelpDeskApplication.class)
+				.web(false)
+				.logStartupInfo(false)
+				// H2 would otherwise answer a repeated query from its result cache
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE;OPTIMIZE_REUSE_RESULTS=0",
+						"logging.level.root=WARN")
+				.run();
+		JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+		this.customerId = Benchmarks.insertUser(jdbcTemplate, "customer@helpdesk.com", "ROLE_CUSTOMER");
+		long technicianId = Benchmarks.insertUser(jdbcTemplate, "technician@helpdesk.com", "ROLE_TECHNICIAN");
+		Benchmarks.seedTickets(jdbcTemplate, this.tickets, this.customerId, technicianId);
+		this.context.getBean(TicketStatusCounter.class).rebuild();
+
+		this.ticketService = this.context.getBean(TicketService.class);
+		this.ticketController = this.context.getBean(TicketController.class);
+		this.deepPage = this.tickets / PAGE_SIZE / 2;
+		this.deepCursor = cursorAfter(this.deepPage * PAGE_SIZE);
+	}
+
+	/**
+	 * Cursor of the row at the given offset of the listing, so the keyset page
+	 * after it holds the same rows as the offset page {@link #deepPage}.
+	 */
+	private String cursorAfter(int offset) {
+		String cursor = null;
+		for (int skipped = 0; skipped < offset;) {
+			int count = Math.min(SKIP_STEP, offset - skipped);
+			cursor = this.ticketService.listTicket(cursor, count).getNext();
+			skipped += count;
+		}
+		return cursor;
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Page<TicketSummaryView> findByParametersFirstPage() {
+		return this.ticketService.findByParameters(0, PAGE_SIZE, "", "", "", null);
+	}
+
+	@Benchmark
+	public Page<TicketSummaryView> findByParametersDeepPage() {
+		return this.ticketService.findByParameters(this.deepPage, PAGE_SIZE, "", "", "", null);
+	}
+
+	@Benchmark
+	public Page<TicketSummaryView> findByParametersTitleAndStatus() {
+		return this.ticketService.findByParameters(0, PAGE_SIZE, "printer 12", "Assigned", "", null);
+	}
+
+	@Benchmark
+	public CursorPage<TicketSummaryView> listTicketAfterCursor() {
+		return this.ticketService.listTicket(this.deepCursor, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public Object findSummary() throws Exception {
+		return this.ticketController.findSummary(null, false).getCallable().call();
+	}
+
+	@Benchmark
+	public Summary summarizeByCurrentUser() {
+		return this.ticketService.summarizeByCurrentUser(this.customerId);
+	}
+}
@@ -1,16 +1,36 @@
 package com.example.helpdesk;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.autoconfigure.jdbc.metadata.TomcatDataSourcePoolMetadata;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.filter.RequestMetricsInterceptor;
 import com.example.helpdesk.repository.UserRepository;
+import com.example.helpdesk.service.TicketWorkflow;
+import com.example.helpdesk.service.impl.TicketRequestExecutor;
+import com.example.helpdesk.service.impl.TimedDataSource;
+import com.example.helpdesk.service.impl.TransitionTable;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class HelpDeskApplication {
 
 	public static void main(String[] args) {
@@ -22,6 +42,77 @@ public class HelpDeskApplication {
 		return args -> {initUsers(userRepository, passwordEncoder);};
 	}
 
+	/**
+	 * Writes a lazy association that was not fetched as its id instead of
+	 * loading it during serialization. {@code @Transient} fields such as the
+	 * ticket image are still serialized.
+	 */
+	@Bean
+	Module hibernate5Module() {
+		Hibernate5Module module = new Hibernate5Module();
+		module.disable(Hibernate5Module.Feature.USE_TRANSIENT_ANNOTATION);
+		module.enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+		return module;
+	}
+
+	/**
+	 * Wraps the pooled data source in a {@link TimedDataSource} for the
+	 * connection pool metrics. Static, so registering the post processor does
+	 * not create this configuration and its beans ahead of the others.
+	 */
+	@Bean
+	static BeanPostProcessor timedDataSourcePostProcessor() {
+		return new TimedDataSource.PostProcessor();
+	}
+
+	/**
+	 * Reads the pool metadata from under the {@link TimedDataSource}, which
+	 * the provider of Spring Boot does not recognize, so the
+	 * {@code datasource.primary.*} metrics are still published.
+	 */
+	@Bean
+	DataSourcePoolMetadataProvider timedDataSourcePoolMetadataProvider() {
+		return dataSource -> dataSource instanceof TimedDataSource
+				? new TomcatDataSourcePoolMetadata(((TimedDataSource) dataSource).getPool())
+				: null;
+	}
+
+	/**
+	 * Default status workflow, replaced by any other {@link TicketWorkflow}
+	 * bean.
+	 */
+	@Bean
+	@ConditionalOnMissingBean(TicketWorkflow.class)
+	TicketWorkflow ticketWorkflow() {
+		return TransitionTable.defaults();
+	}
+
+	/**
+	 * Streamed responses such as the ticket export run on the bulk executor
+	 * instead of an unbounded thread per request.
+	 */
+	@Bean
+	WebMvcConfigurer asyncSupportConfigurer(TicketRequestExecutor requestExecutor,
+			@Value("${ticket.async.timeout.export}") long exportTimeout) {
+		return new WebMvcConfigurerAdapter() {
+			@Override
+			public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+				configurer.setTaskExecutor(requestExecutor.getBulkExecutor());
+				configurer.setDefaultTimeout(exportTimeout);
+			}
+		};
+	}
+
+	@Bean
+	WebMvcConfigurer requestMetricsConfigurer(RequestMetricsInterceptor requestMetricsInterceptor) {
+		return new WebMvcConfigurerAdapter() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(requestMetricsInterceptor);
+			}
+		};
+	}
+
 	private void initUsers(UserRepository userRepository, PasswordEncoder passwordEncoder) {
 		User admin = new User();
 		admin.setEmail("admin@helpdesk.com");
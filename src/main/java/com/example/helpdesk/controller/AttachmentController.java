@@ -0,0 +1,208 @@
+package com.example.helpdesk.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.helpdesk.entity.Attachment;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.response.Response;
+import com.example.helpdesk.service.AttachmentService;
+import com.example.helpdesk.service.TicketService;
+
+@RestController
+@RequestMapping("/api/ticket/{id}/attachments")
+@CrossOrigin(origins = "*")
+public class AttachmentController {
+
+	/**
+	 * Request attributes of the Tomcat sendfile support, as used by its
+	 * DefaultServlet.
+	 */
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	@Autowired
+	private AttachmentService attachmentService;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<Response<Attachment>> upload(@PathVariable Long id,
+			@RequestParam("file") MultipartFile file) {
+		Response<Attachment> response = new Response<Attachment>();
+		Ticket ticket = this.ticketService.findById(id);
+		if (ticket == null) {
+			response.getErrors().add("Register not found id: " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
+		try (InputStream content = file.getInputStream()) {
+			response.setData(this.attachmentService.create(ticket, file.getOriginalFilename(), file.getContentType(),
+					content));
+		} catch (IOException e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Upload of the raw request body, streamed straight to the attachment
+	 * store without being buffered as a multipart part first.
+	 */
+	@PostMapping
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<Response<Attachment>> uploadStream(HttpServletRequest request, @PathVariable Long id,
+			@RequestParam("fileName") String fileName) {
+		Response<Attachment> response = new Response<Attachment>();
+		Ticket ticket = this.ticketService.findById(id);
+		if (ticket == null) {
+			response.getErrors().add("Register not found id: " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
+		try (InputStream content = request.getInputStream()) {
+			response.setData(this.attachmentService.create(ticket, fileName, request.getContentType(), content));
+		} catch (IOException e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<Response<List<Attachment>>> findAll(@PathVariable Long id) {
+		Response<List<Attachment>> response = new Response<List<Attachment>>();
+		response.setData(this.attachmentService.findByTicket(id));
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Sends the content with the SHA-256 as ETag and honours a single
+	 * {@code Range: bytes=} interval. When the connector supports sendfile
+	 * the file goes from the page cache to the socket without being copied
+	 * into the JVM; otherwise it is copied to the response stream through a
+	 * buffer.
+	 */
+	@GetMapping("{attachmentId}")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public void download(HttpServletRequest request, HttpServletResponse response, @PathVariable Long id,
+			@PathVariable Long attachmentId) throws IOException {
+		Attachment attachment = this.attachmentService.findById(attachmentId);
+		if (attachment == null || !attachment.getTicket().getId().equals(id)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND, "Register not found id: " + attachmentId);
+			return;
+		}
+		String etag = "\"" + attachment.getHash() + "\"";
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+		if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		Path content = this.attachmentService.content(attachment);
+		try (FileChannel channel = FileChannel.open(content, StandardOpenOption.READ)) {
+			long length = channel.size();
+			long start = 0;
+			long end = length - 1;
+			String range = request.getHeader(HttpHeaders.RANGE);
+			if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+				long[] interval = parseRange(range.substring("bytes=".length()), length);
+				if (interval == null) {
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+				start = interval[0];
+				end = interval[1];
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+			}
+			long count = end - start + 1;
+			response.setContentType(attachment.getContentType());
+			response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(count));
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+					"attachment; filename=\"" + attachment.getFileName().replace("\"", "") + "\"");
+			if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+				request.setAttribute(SENDFILE_FILENAME, content.toAbsolutePath().toString());
+				request.setAttribute(SENDFILE_START, start);
+				request.setAttribute(SENDFILE_END, end + 1);
+				return;
+			}
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			while (position <= end) {
+				position += channel.transferTo(position, end - position + 1, out);
+			}
+			response.flushBuffer();
+		}
+	}
+
+	private static long[] parseRange(String range, long length) {
+		int dash = range.indexOf('-');
+		if (dash < 0 || length == 0) {
+			return null;
+		}
+		try {
+			String first = range.substring(0, dash).trim();
+			String last = range.substring(dash + 1).trim();
+			long start;
+			long end;
+			if (first.isEmpty()) {
+				start = Math.max(0, length - Long.parseLong(last));
+				end = length - 1;
+			} else {
+				start = Long.parseLong(first);
+				end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+			}
+			return start <= end && start < length ? new long[] { start, end } : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@DeleteMapping("{attachmentId}")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<Response<String>> delete(@PathVariable Long id, @PathVariable Long attachmentId) {
+		Response<String> response = new Response<String>();
+		Attachment attachment = this.attachmentService.findById(attachmentId);
+		if (attachment == null || !attachment.getTicket().getId().equals(id)) {
+			response.getErrors().add("Register not found id: " + attachmentId);
+			return ResponseEntity.badRequest().body(response);
+		}
+		this.attachmentService.delete(attachmentId);
+		return ResponseEntity.ok(new Response<String>());
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.helpdesk.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.endpoint.mvc.AbstractMvcEndpoint;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.example.helpdesk.service.impl.RequestMetrics;
+
+/**
+ * Actuator endpoint {@code /prometheus}: the request distributions of
+ * {@link RequestMetrics} as Prometheus summaries, followed by every actuator
+ * metric (connection pool, executors, JVM) as a gauge.
+ */
+@Component
+public class PrometheusEndpoint extends AbstractMvcEndpoint {
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private static final double MICROS_PER_SECOND = 1_000_000d;
+
+	@Autowired
+	private RequestMetrics requestMetrics;
+
+	@Autowired
+	private List<PublicMetrics> publicMetrics;
+
+	public PrometheusEndpoint() {
+		super("/prometheus", true);
+	}
+
+	@RequestMapping(method = RequestMethod.GET, produces = CONTENT_TYPE)
+	@ResponseBody
+	public String scrape() {
+		StringBuilder out = new StringBuilder(4096);
+		writeSummaries(out, "http_server_requests_seconds", this.requestMetrics.getLatencies(), MICROS_PER_SECOND);
+		writeSummaries(out, "jdbc_statements_per_request", this.requestMetrics.getStatements(), 1);
+		writeSummaries(out, "jdbc_rows_per_request", this.requestMetrics.getRows(), 1);
+		writeSummary(out, "jwt_parse_seconds", this.requestMetrics.getJwtParse(), MICROS_PER_SECOND);
+		writeSummary(out, "user_lookup_seconds", this.requestMetrics.getUserLookup(), MICROS_PER_SECOND);
+		for (PublicMetrics metrics : this.publicMetrics) {
+			for (Metric<?> metric : metrics.metrics()) {
+				String name = sanitize(metric.getName());
+				out.append("# TYPE ").append(name).append(" gauge\n");
+				out.append(name).append(' ').append(metric.getValue().doubleValue()).append('\n');
+			}
+		}
+		return out.toString();
+	}
+
+	private static void writeSummaries(StringBuilder out, String name,
+			Map<String, RequestMetrics.Distribution> distributions, double scale) {
+		out.append("# TYPE ").append(name).append(" summary\n");
+		distributions.forEach((handler, distribution) -> writeSamples(out, name,
+				"handler=\"" + handler + "\"", distribution, scale));
+	}
+
+	private static void writeSummary(StringBuilder out, String name, RequestMetrics.Distribution distribution,
+			double scale) {
+		out.append("# TYPE ").append(name).append(" summary\n");
+		writeSamples(out, name, null, distribution, scale);
+	}
+
+	private static void writeSamples(StringBuilder out, String name, String labels,
+			RequestMetrics.Distribution distribution, double scale) {
+		double[] quantiles = distribution.quantiles();
+		for (int i = 0; i < quantiles.length; i++) {
+			out.append(name).append('{');
+			if (labels != null) {
+				out.append(labels).append(',');
+			}
+			out.append("quantile=\"").append(RequestMetrics.QUANTILES[i]).append("\"} ")
+					.append(quantiles[i] / scale).append('\n');
+		}
+		String suffix = labels == null ? " " : "{" + labels + "} ";
+		out.append(name).append("_sum").append(suffix).append(distribution.getSum() / scale).append('\n');
+		out.append(name).append("_count").append(suffix).append(distribution.getCount()).append('\n');
+	}
+
+	private static String sanitize(String name) {
+		return name.replaceAll("[^a-zA-Z0-9_:]", "_");
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.helpdesk.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.helpdesk.dto.BulkTransitionRequest;
+import com.example.helpdesk.dto.BulkTransitionResult;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.response.Response;
+import com.example.helpdesk.security.service.CurrentUserService;
+import com.example.helpdesk.service.TicketBulkService;
+import com.example.helpdesk.service.impl.TicketRequestExecutor;
+
+@RestController
+@RequestMapping("/api/ticket/bulk")
+@CrossOrigin(origins = "*")
+public class TicketBulkController {
+
+	@Autowired
+	private TicketBulkService ticketBulkService;
+
+	@Autowired
+	private CurrentUserService currentUserService;
+
+	@Autowired
+	private TicketRequestExecutor requestExecutor;
+
+	/**
+	 * Changes the status of the listed tickets and/or of the tickets matching
+	 * the filter (title, status, priority, before) in one call, assigning them
+	 * to the caller when the status is {@code Assigned}. Customers only reach
+	 * their own tickets. Answers the result of every ticket.
+	 */
+	@PutMapping
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<BulkTransitionResult>>> transition(
+			@RequestBody BulkTransitionRequest request) {
+		return this.requestExecutor.bulkWrite("bulkTransition", () -> {
+			Response<BulkTransitionResult> response = new Response<BulkTransitionResult>();
+			StatusEnum status = StatusEnum.getStatus(request.getStatus());
+			if (status == null) {
+				response.getErrors().add("Invalid status: " + request.getStatus());
+				return ResponseEntity.badRequest().body(response);
+			}
+			if (request.getIds() == null && request.getFilter() == null) {
+				response.getErrors().add("Ids or filter required");
+				return ResponseEntity.badRequest().body(response);
+			}
+			User userRequest = this.currentUserService.currentUser();
+			TicketFilter filter = request.getFilter() == null ? new TicketFilter() : request.getFilter();
+			if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+				filter.setUserId(userRequest.getId());
+			} else if (request.isAssigned()) {
+				filter.setAssignedUserId(userRequest.getId());
+			}
+			try {
+				response.setData(this.ticketBulkService.transition(request.getIds(), filter, status, userRequest));
+			} catch (IllegalArgumentException e) {
+				response.getErrors().add(e.getMessage());
+				return ResponseEntity.badRequest().body(response);
+			}
+			return ResponseEntity.ok(response);
+		});
+	}
+}
@@ -1,15 +1,20 @@
 package com.example.helpdesk.controller;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
@@ -22,55 +27,70 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.example.helpdesk.dto.ChangeStatusView;
+import com.example.helpdesk.dto.CursorPage;
 import com.example.helpdesk.dto.Summary;
-import com.example.helpdesk.entity.ChangeStatus;
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.dto.TicketDetail;
+import com.example.helpdesk.dto.TicketSummaryView;
 import com.example.helpdesk.entity.Ticket;
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.ProfileEnum;
 import com.example.helpdesk.enums.StatusEnum;
 import com.example.helpdesk.response.Response;
-import com.example.helpdesk.security.jwt.JwtTokenUtil;
+import com.example.helpdesk.security.service.CurrentUserService;
+import com.example.helpdesk.service.AttachmentService;
 import com.example.helpdesk.service.TicketService;
-import com.example.helpdesk.service.UserService;
+import com.example.helpdesk.service.impl.TicketRequestExecutor;
 
 @RestController
 @RequestMapping("/api/ticket")
 @CrossOrigin(origins = "*")
 public class TicketController {
 
+	private static final int MAX_HISTORY_TICKETS = 100;
+
 	@Autowired
 	private TicketService ticketService;
 
 	@Autowired
-	protected JwtTokenUtil jwtTokenUtil;
+	private CurrentUserService currentUserService;
+
+	@Autowired
+	private AttachmentService attachmentService;
 
 	@Autowired
-	private UserService userService;
+	private TicketRequestExecutor requestExecutor;
 
 	@PostMapping
 	@PreAuthorize("hasAnyRole('CUSTOMER')")
-	public ResponseEntity<Response<Ticket>> create(HttpServletRequest request, @RequestBody Ticket ticket,
+	public WebAsyncTask<ResponseEntity<Response<Ticket>>> create(HttpServletRequest request, @RequestBody Ticket ticket,
 			BindingResult result) {
-		Response<Ticket> response = new Response<Ticket>();
-		try {
-			validateCreateTicket(ticket, result);
-			if (result.hasErrors()) {
-				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+		return this.requestExecutor.interactiveWrite("create", () -> {
+			Response<Ticket> response = new Response<Ticket>();
+			try {
+				validateCreateTicket(ticket, result);
+				if (result.hasErrors()) {
+					result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+					return ResponseEntity.badRequest().body(response);
+				}
+				ticket.setStatus(StatusEnum.New);
+				ticket.setUser(this.currentUserService.currentUser());
+				ticket.setDate(LocalDate.now());
+				ticket.setNumber(generateNumber());
+				Ticket ticketPersited = (Ticket) this.ticketService.createOrUpdate(ticket);
+				moveImageToAttachments(ticketPersited, ticket.getImage());
+				response.setData(ticketPersited);
+			} catch (Exception e) {
+				response.getErrors().add(e.getMessage());
 				return ResponseEntity.badRequest().body(response);
 			}
-			ticket.setStatus(StatusEnum.New);
-			ticket.setUser(userFromRequest(request));
-			ticket.setDate(LocalDate.now());
-			ticket.setNumber(generateNumber());
-			Ticket ticketPersited = (Ticket) this.ticketService.createOrUpdate(ticket);
-			response.setData(ticketPersited);
-		} catch (Exception e) {
-			response.getErrors().add(e.getMessage());
-			return ResponseEntity.badRequest().body(response);
-		}
-		return ResponseEntity.ok(response);
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	private void validateCreateTicket(Ticket ticket, BindingResult result) {
@@ -80,43 +100,47 @@ public class TicketController {
 		}
 	}
 
-	private User userFromRequest(HttpServletRequest request) {
-		String token = request.getHeader("Authorization");
-		String email = this.jwtTokenUtil.getUsernameFromToken(token);
-		return this.userService.findByEmail(email);
+	private void moveImageToAttachments(Ticket ticket, String image) throws IOException {
+		if (image != null && !image.isEmpty()) {
+			this.attachmentService.createFromDataUrl(ticket, image);
+			ticket.setImage(null);
+		}
 	}
 
 	private Long generateNumber() {
-		Random random = new Random();
-		return (long) random.nextInt(9999);
+		return this.ticketService.nextNumber();
 	}
 
 	@PutMapping
 	@PreAuthorize("hasAnyRole('CUSTOMER')")
-	public ResponseEntity<Response<Ticket>> update(HttpServletRequest request, @RequestBody Ticket ticket,
+	public WebAsyncTask<ResponseEntity<Response<Ticket>>> update(HttpServletRequest request, @RequestBody Ticket ticket,
 			BindingResult result) {
-		Response<Ticket> response = new Response<Ticket>();
-		try {
-			validateUpdateTicket(ticket, result);
-			if (result.hasErrors()) {
-				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+		return this.requestExecutor.interactiveWrite("update", () -> {
+			Response<Ticket> response = new Response<Ticket>();
+			try {
+				validateUpdateTicket(ticket, result);
+				if (result.hasErrors()) {
+					result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+					return ResponseEntity.badRequest().body(response);
+				}
+				Ticket currentTiket = this.ticketService.findById(ticket.getId());
+				ticket.setStatus(currentTiket.getStatus());
+				ticket.setUser(currentTiket.getUser());
+				ticket.setDate(currentTiket.getDate());
+				ticket.setNumber(currentTiket.getNumber());
+				ticket.setVersion(currentTiket.getVersion());
+				if (currentTiket.getAssignedUser() != null) {
+					ticket.setAssignedUser(currentTiket.getAssignedUser());
+				}
+				Ticket ticketPersited = (Ticket) this.ticketService.createOrUpdate(ticket);
+				moveImageToAttachments(ticketPersited, ticket.getImage());
+				response.setData(ticketPersited);
+			} catch (Exception e) {
+				response.getErrors().add(e.getMessage());
 				return ResponseEntity.badRequest().body(response);
 			}
-			Ticket currentTiket = this.ticketService.findById(ticket.getId());
-			ticket.setStatus(currentTiket.getStatus());
-			ticket.setUser(currentTiket.getUser());
-			ticket.setDate(currentTiket.getDate());
-			ticket.setNumber(currentTiket.getNumber());
-			if (currentTiket.getAssignedUser() != null) {
-				ticket.setAssignedUser(currentTiket.getAssignedUser());
-			}
-			Ticket ticketPersited = (Ticket) this.ticketService.createOrUpdate(ticket);
-			response.setData(ticketPersited);
-		} catch (Exception e) {
-			response.getErrors().add(e.getMessage());
-			return ResponseEntity.badRequest().body(response);
-		}
-		return ResponseEntity.ok(response);
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	private void validateUpdateTicket(Ticket ticket, BindingResult result) {
@@ -132,115 +156,214 @@ public class TicketController {
 
 	@GetMapping("{id}")
 	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
-	public ResponseEntity<Response<Ticket>> findById(@PathVariable Long id) {
-		Response<Ticket> response = new Response<Ticket>();
-		Ticket ticket = this.ticketService.findById(id);
-		if (ticket == null) {
-			response.getErrors().add("Register not found id: " + id);
-			return ResponseEntity.badRequest().body(response);
-		}
-		List<ChangeStatus> changes = new ArrayList<>();
-		Iterable<ChangeStatus> currentChanges = this.ticketService.lisChangeStatus(ticket.getId());
-		for (Iterator<ChangeStatus> iterator = currentChanges.iterator(); iterator.hasNext();) {
-			ChangeStatus changeStatus = (ChangeStatus) iterator.next();
-			changeStatus.setTicket(null);
-			changes.add(changeStatus);
-		}
-		ticket.setChanges(changes);
-		response.setData(ticket);
-		return ResponseEntity.ok(response);
+	public WebAsyncTask<ResponseEntity<Response<TicketDetail>>> findById(@PathVariable Long id) {
+		return this.requestExecutor.interactive("findById", () -> {
+			Response<TicketDetail> response = new Response<TicketDetail>();
+			Ticket ticket = this.ticketService.findById(id);
+			if (ticket == null) {
+				response.getErrors().add("Register not found id: " + id);
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(new TicketDetail(ticket, this.ticketService.lisChangeStatus(ticket.getId())));
+			return ResponseEntity.ok(response);
+		});
+	}
+
+	@GetMapping("history")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<Map<Long, List<ChangeStatusView>>>>> findHistories(
+			@RequestParam("ids") List<Long> ids) {
+		return this.requestExecutor.bulk("findHistories", () -> {
+			Response<Map<Long, List<ChangeStatusView>>> response = new Response<Map<Long, List<ChangeStatusView>>>();
+			if (ids.size() > MAX_HISTORY_TICKETS) {
+				response.getErrors().add("At most " + MAX_HISTORY_TICKETS + " tickets per request");
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(this.ticketService.lisChangeStatus(new LinkedHashSet<>(ids)));
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	@DeleteMapping("{id}")
 	@PreAuthorize("hasAnyRole('CUSTOMER')")
-	public ResponseEntity<Response<String>> delete(@PathVariable Long id) {
-		Response<String> response = new Response<String>();
-		Ticket ticket = this.ticketService.findById(id);
-		if (ticket == null) {
-			response.getErrors().add("Register not found id: " + id);
-			return ResponseEntity.badRequest().body(response);
-		}
-		this.ticketService.delete(id);
-		return ResponseEntity.ok(new Response<String>());
+	public WebAsyncTask<ResponseEntity<Response<String>>> delete(@PathVariable Long id) {
+		return this.requestExecutor.interactiveWrite("delete", () -> {
+			Response<String> response = new Response<String>();
+			Ticket ticket = this.ticketService.findById(id);
+			if (ticket == null) {
+				response.getErrors().add("Register not found id: " + id);
+				return ResponseEntity.badRequest().body(response);
+			}
+			this.ticketService.delete(id);
+			return ResponseEntity.ok(new Response<String>());
+		});
 	}
 
 	@GetMapping("{page}/{count}")
 	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
-	public ResponseEntity<Response<Page<Ticket>>> findAll(HttpServletRequest request, @PathVariable int page,
-			@PathVariable int count) {
-		Response<Page<Ticket>> response = new Response<Page<Ticket>>();
-		Page<Ticket> tickets = null;
-		User userRequest = this.userFromRequest(request);
-		if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
-			tickets = this.ticketService.listTicket(page, count);
-		} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
-			tickets = this.ticketService.findByCurrentUser(page, count, userRequest.getId());
-		}
-		response.setData(tickets);
-		return ResponseEntity.ok(response);
+	public WebAsyncTask<ResponseEntity<Response<Page<TicketSummaryView>>>> findAll(HttpServletRequest request,
+			@PathVariable int page, @PathVariable int count) {
+		return this.requestExecutor.interactive("findAll", () -> {
+			Response<Page<TicketSummaryView>> response = new Response<Page<TicketSummaryView>>();
+			Page<TicketSummaryView> tickets = null;
+			User userRequest = this.currentUserService.currentUser();
+			if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+				tickets = this.ticketService.listTicket(page, count);
+			} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+				tickets = this.ticketService.findByCurrentUser(page, count, userRequest.getId());
+			}
+			response.setData(tickets);
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	@GetMapping("{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}")
 	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
-	public ResponseEntity<Response<Page<Ticket>>> findByParams(HttpServletRequest request, @PathVariable int page,
-			@PathVariable int count, @PathVariable Long number, @PathVariable String title, @PathVariable String status,
-			@PathVariable String priority, @PathVariable boolean assigned) {
-
-		title = title.equals("uninformed") ? "" : title;
-		status = status.equals("uninformed") ? "" : status;
-		priority = priority.equals("uninformed") ? "" : priority;
+	public WebAsyncTask<ResponseEntity<Response<Page<TicketSummaryView>>>> findByParams(HttpServletRequest request,
+			@PathVariable int page, @PathVariable int count, @PathVariable Long number, @PathVariable String title, @PathVariable String status,
+			@PathVariable String priority, @PathVariable boolean assigned, Sort sort) {
+		return this.requestExecutor.bulk("findByParams", () -> {
+			String titleFilter = title.equals("uninformed") ? "" : title;
+			String statusFilter = status.equals("uninformed") ? "" : status;
+			String priorityFilter = priority.equals("uninformed") ? "" : priority;
 
-		Response<Page<Ticket>> response = new Response<Page<Ticket>>();
-		Page<Ticket> tickets = null;
-		if (number > 0) {
-			tickets = this.ticketService.findByNumber(page, count, number);
-		} else {
-			User userRequest = this.userFromRequest(request);
-			if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
-				if (assigned) {
-					tickets = this.ticketService.findByParameterAndAssignedUser(page, count, title, status, priority,
-							userRequest.getId());
+			Response<Page<TicketSummaryView>> response = new Response<Page<TicketSummaryView>>();
+			Page<TicketSummaryView> tickets = null;
+			try {
+				if (number > 0) {
+					tickets = this.ticketService.findByNumber(page, count, number);
 				} else {
-					tickets = this.ticketService.findByParameters(page, count, title, status, priority);
+					User userRequest = this.currentUserService.currentUser();
+					if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+						if (assigned) {
+							tickets = this.ticketService.findByParameterAndAssignedUser(page, count, titleFilter,
+									statusFilter, priorityFilter, userRequest.getId(), sort);
+						} else {
+							tickets = this.ticketService.findByParameters(page, count, titleFilter, statusFilter,
+									priorityFilter, sort);
+						}
+					} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+						tickets = this.ticketService.findByParametersAndCurrentUser(page, count, titleFilter,
+								statusFilter, priorityFilter, userRequest.getId(), sort);
+					}
 				}
-			} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
-				tickets = this.ticketService.findByParametersAndCurrentUser(page, count, title, status, priority,
-						userRequest.getId());
+			} catch (IllegalArgumentException e) {
+				response.getErrors().add(e.getMessage());
+				return ResponseEntity.badRequest().body(response);
 			}
-		}
-		response.setData(tickets);
-		return ResponseEntity.ok(response);
+			response.setData(tickets);
+			return ResponseEntity.ok(response);
+		});
+	}
+
+	@GetMapping("cursor/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<CursorPage<TicketSummaryView>>>> findAllAfter(HttpServletRequest request,
+			@PathVariable int count, @RequestParam(value = "after", required = false) String after) {
+		return this.requestExecutor.interactive("findAllAfter", () -> {
+			Response<CursorPage<TicketSummaryView>> response = new Response<CursorPage<TicketSummaryView>>();
+			CursorPage<TicketSummaryView> tickets = null;
+			try {
+				User userRequest = this.currentUserService.currentUser();
+				if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+					tickets = this.ticketService.listTicket(after, count);
+				} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+					tickets = this.ticketService.findByCurrentUser(after, count, userRequest.getId());
+				}
+			} catch (IllegalArgumentException e) {
+				response.getErrors().add(e.getMessage());
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(tickets);
+			return ResponseEntity.ok(response);
+		});
+	}
+
+	@GetMapping("cursor/{count}/{title}/{status}/{priority}/{assigned}")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<CursorPage<TicketSummaryView>>>> findByParamsAfter(HttpServletRequest request,
+			@PathVariable int count, @PathVariable String title, @PathVariable String status,
+			@PathVariable String priority, @PathVariable boolean assigned,
+			@RequestParam(value = "after", required = false) String after) {
+		return this.requestExecutor.bulk("findByParamsAfter", () -> {
+			String titleFilter = title.equals("uninformed") ? "" : title;
+			String statusFilter = status.equals("uninformed") ? "" : status;
+			String priorityFilter = priority.equals("uninformed") ? "" : priority;
+
+			Response<CursorPage<TicketSummaryView>> response = new Response<CursorPage<TicketSummaryView>>();
+			CursorPage<TicketSummaryView> tickets = null;
+			try {
+				User userRequest = this.currentUserService.currentUser();
+				if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+					if (assigned) {
+						tickets = this.ticketService.findByParameterAndAssignedUser(after, count, titleFilter,
+								statusFilter, priorityFilter, userRequest.getId());
+					} else {
+						tickets = this.ticketService.findByParameters(after, count, titleFilter, statusFilter,
+								priorityFilter);
+					}
+				} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+					tickets = this.ticketService.findByParametersAndCurrentUser(after, count, titleFilter,
+							statusFilter, priorityFilter, userRequest.getId());
+				}
+			} catch (IllegalArgumentException e) {
+				response.getErrors().add(e.getMessage());
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(tickets);
+			return ResponseEntity.ok(response);
+		});
+	}
+
+	@GetMapping("search")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<Page<TicketSummaryView>>>> search(HttpServletRequest request,
+			@RequestParam("text") String text, @RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "count", defaultValue = "10") int count,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned) {
+		return this.requestExecutor.bulk("search", () -> {
+			Response<Page<TicketSummaryView>> response = new Response<Page<TicketSummaryView>>();
+			Page<TicketSummaryView> tickets = null;
+			try {
+				User userRequest = this.currentUserService.currentUser();
+				if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+					tickets = this.ticketService.search(page, count, text, null, assigned ? userRequest.getId() : null);
+				} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+					tickets = this.ticketService.search(page, count, text, userRequest.getId(), null);
+				}
+			} catch (IllegalArgumentException e) {
+				response.getErrors().add(e.getMessage());
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(tickets);
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	@PutMapping("{id}/{status}")
 	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
-	public ResponseEntity<Response<Ticket>> changeStatus(HttpServletRequest request, @RequestBody Ticket ticket,
+	public WebAsyncTask<ResponseEntity<Response<Ticket>>> changeStatus(HttpServletRequest request, @RequestBody Ticket ticket,
 			BindingResult result, @PathVariable Long id, @PathVariable String status) {
-		Response<Ticket> response = new Response<Ticket>();
-		try {
-			validateChangeStatus(id, status, result);
-			if (result.hasErrors()) {
-				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+		return this.requestExecutor.interactiveWrite("changeStatus", () -> {
+			Response<Ticket> response = new Response<Ticket>();
+			try {
+				validateChangeStatus(id, status, result);
+				if (result.hasErrors()) {
+					result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+					return ResponseEntity.badRequest().body(response);
+				}
+				Ticket ticketPersited = this.ticketService.transition(id, StatusEnum.getStatus(status),
+						this.currentUserService.currentUser());
+				response.setData(ticketPersited);
+			} catch (OptimisticLockingFailureException e) {
+				response.getErrors().add("Ticket " + id + " is being changed by someone else, try again");
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+			} catch (Exception e) {
+				response.getErrors().add(e.getMessage());
 				return ResponseEntity.badRequest().body(response);
 			}
-			Ticket currentTicket = this.ticketService.findById(id);
-			currentTicket.setStatus(StatusEnum.getStatus(status));
-			if (status.equals("Assigned")) {
-				currentTicket.setAssignedUser(this.userFromRequest(request));
-			}
-			Ticket ticketPersited = (Ticket) this.ticketService.createOrUpdate(currentTicket);
-			ChangeStatus changeStatus = new ChangeStatus();
-			changeStatus.setUserChange(this.userFromRequest(request));
-			changeStatus.setDateChangeStatus(LocalDate.now());
-			changeStatus.setStatus(StatusEnum.getStatus(status));
-			changeStatus.setTicket(ticketPersited);
-			this.ticketService.createChangeStatus(changeStatus);
-			response.setData(ticketPersited);
-		} catch (Exception e) {
-			response.getErrors().add(e.getMessage());
-			return ResponseEntity.badRequest().body(response);
-		}
-		return ResponseEntity.ok(response);
+			return ResponseEntity.ok(response);
+		});
 	}
 
 	private void validateChangeStatus(Long id, String status, BindingResult result) {
@@ -252,51 +375,60 @@ public class TicketController {
 			result.addError(new ObjectError("Ticket", "Status no information"));
 			return;
 		}
+		if (StatusEnum.getStatus(status) == null) {
+			result.addError(new ObjectError("Ticket", "Invalid status: " + status));
+			return;
+		}
 	}
 
 	@GetMapping("/summary")
-	public ResponseEntity<Response<Summary>> findSummary() {
-		Response<Summary> response = new Response<Summary>();
-		Summary summary = new Summary();
-		int amountNew = 0;
-		int amountResolved = 0;
-		int amountApproved = 0;
-		int amountDisapproved = 0;
-		int amountAssigned = 0;
-		int amountClosed = 0;
-
-		Iterable<Ticket> tickets = this.ticketService.findAll();
-
-		if (tickets != null) {
-			for (Iterator<Ticket> iterator = tickets.iterator(); iterator.hasNext();) {
-				Ticket ticket = (Ticket) iterator.next();
-				if (ticket.getStatus().equals(StatusEnum.New)) {
-					amountNew++;
-				}
-				if (ticket.getStatus().equals(StatusEnum.Resolved)) {
-					amountResolved++;
-				}
-				if (ticket.getStatus().equals(StatusEnum.Approved)) {
-					amountApproved++;
-				}
-				if (ticket.getStatus().equals(StatusEnum.Disapproved)) {
-					amountDisapproved++;
-				}
-				if (ticket.getStatus().equals(StatusEnum.Assigned)) {
-					amountAssigned++;
-				}
-				if (ticket.getStatus().equals(StatusEnum.Closed)) {
-					amountClosed++;
+	public WebAsyncTask<ResponseEntity<Response<Summary>>> findSummary(HttpServletRequest request,
+			@RequestParam(value = "mine", defaultValue = "false") boolean mine) {
+		return this.requestExecutor.interactive("findSummary", () -> {
+			Response<Summary> response = new Response<Summary>();
+			Summary summary = null;
+			if (mine) {
+				User userRequest = this.currentUserService.currentUser();
+				if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+					summary = this.ticketService.summarizeByAssignedUser(userRequest.getId());
+				} else if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+					summary = this.ticketService.summarizeByCurrentUser(userRequest.getId());
 				}
 			}
-		}
-		summary.setAmountNew(amountNew);
-		summary.setAmountResolved(amountResolved);
-		summary.setAmountApproved(amountApproved);
-		summary.setAmountDisapproved(amountDisapproved);
-		summary.setAmountAssigned(amountAssigned);
-		summary.setAmountClosed(amountClosed);
-		response.setData(summary);
-		return ResponseEntity.ok(response);
+			if (summary == null) {
+				summary = this.ticketService.summarize();
+			}
+			response.setData(summary);
+			return ResponseEntity.ok(response);
+		});
+	}
+
+	/**
+	 * Open tickets, first assignments and closes per technician, from the
+	 * in-memory workload. Technicians only see their own; the range defaults
+	 * to the last 30 days.
+	 */
+	@GetMapping("stats")
+	@PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN')")
+	public WebAsyncTask<ResponseEntity<Response<List<TechnicianStats>>>> findStats(HttpServletRequest request,
+			@RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+			@RequestParam(value = "technician", required = false) Long technician) {
+		return this.requestExecutor.interactive("findStats", () -> {
+			Response<List<TechnicianStats>> response = new Response<List<TechnicianStats>>();
+			LocalDate toDay = to == null ? LocalDate.now() : to;
+			LocalDate fromDay = from == null ? toDay.minusDays(29) : from;
+			if (fromDay.isAfter(toDay)) {
+				response.getErrors().add("From must not be after to");
+				return ResponseEntity.badRequest().body(response);
+			}
+			Long technicianId = technician;
+			User userRequest = this.currentUserService.currentUser();
+			if (userRequest.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+				technicianId = userRequest.getId();
+			}
+			response.setData(this.ticketService.statsByTechnician(fromDay, toDay, technicianId));
+			return ResponseEntity.ok(response);
+		});
 	}
 }
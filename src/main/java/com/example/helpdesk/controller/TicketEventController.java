@@ -0,0 +1,70 @@
+package com.example.helpdesk.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.security.service.CurrentUserService;
+import com.example.helpdesk.service.impl.TicketEventHub;
+
+@RestController
+@RequestMapping("/api/ticket/events")
+@CrossOrigin(origins = "*")
+public class TicketEventController {
+
+	@Autowired
+	private TicketEventHub ticketEventHub;
+
+	@Autowired
+	private CurrentUserService currentUserService;
+
+	/**
+	 * Server-sent events for the ticket changes the caller can see, instead
+	 * of polling the listings: customers get their own tickets, technicians
+	 * all of them or, with {@code assigned}, the ones assigned to them.
+	 * {@code status} restricts the feed to tickets entering or leaving the
+	 * given statuses.
+	 */
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<SseEmitter> subscribe(
+			@RequestParam(value = "status", required = false) List<String> status,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned) {
+		Set<StatusEnum> statuses = EnumSet.noneOf(StatusEnum.class);
+		try {
+			if (status != null) {
+				status.forEach(value -> statuses.add(StatusEnum.valueOf(value.trim())));
+			}
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		User userRequest = this.currentUserService.currentUser();
+		Long userId = null;
+		Long assignedUserId = null;
+		if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+			userId = userRequest.getId();
+		} else if (assigned) {
+			assignedUserId = userRequest.getId();
+		}
+		try {
+			return ResponseEntity.ok(this.ticketEventHub.subscribe(userId, assignedUserId, statuses));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.helpdesk.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.DataFormatEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.security.service.CurrentUserService;
+import com.example.helpdesk.service.TicketExportService;
+
+@RestController
+@RequestMapping("/api/ticket/export")
+@CrossOrigin(origins = "*")
+public class TicketExportController {
+
+	@Autowired
+	private TicketExportService ticketExportService;
+
+	@Autowired
+	private CurrentUserService currentUserService;
+
+	/**
+	 * Streams the tickets the caller can see as CSV or NDJSON, with the same
+	 * scoping as the listings: customers get their own tickets, technicians
+	 * all of them or, with {@code assigned}, the ones assigned to them. The
+	 * rows are written on the bulk request executor.
+	 */
+	@GetMapping
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(value = "format", defaultValue = "csv") String format,
+			@RequestParam(value = "title", required = false) String title,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "priority", required = false) String priority,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned) {
+		DataFormatEnum dataFormat;
+		TicketFilter filter;
+		try {
+			dataFormat = DataFormatEnum.valueOf(format.toUpperCase());
+			filter = new TicketFilter(title, status, priority);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		User userRequest = this.currentUserService.currentUser();
+		if (userRequest.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+			filter.setUserId(userRequest.getId());
+		} else if (assigned) {
+			filter.setAssignedUserId(userRequest.getId());
+		}
+		return ResponseEntity.ok().contentType(new MediaType(dataFormat.getMediaType(), StandardCharsets.UTF_8))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"tickets." + dataFormat.getExtension() + "\"")
+				.body(out -> this.ticketExportService.exportTickets(filter, dataFormat, out));
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.helpdesk.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.helpdesk.dto.ImportResult;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.DataFormatEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.response.Response;
+import com.example.helpdesk.service.TicketImportService;
+import com.example.helpdesk.service.UserService;
+
+@RestController
+@RequestMapping("/api/ticket/import")
+@CrossOrigin(origins = "*")
+public class TicketImportController {
+
+	@Autowired
+	private TicketImportService ticketImportService;
+
+	@Autowired
+	private UserService userService;
+
+	/**
+	 * Imports the tickets of a customer from the request body, one ticket per
+	 * NDJSON line or per CSV row after a header naming the columns (title,
+	 * description, priority, status, date). The body is read as a stream.
+	 */
+	@PostMapping(consumes = { "application/x-ndjson", "text/csv" })
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public ResponseEntity<Response<ImportResult>> importTickets(HttpServletRequest request,
+			@RequestParam("customer") String customer) {
+		Response<ImportResult> response = new Response<ImportResult>();
+		User owner = this.userService.findByEmail(customer);
+		if (owner == null || !ProfileEnum.ROLE_CUSTOMER.equals(owner.getProfile())) {
+			response.getErrors().add("Customer not found: " + customer);
+			return ResponseEntity.badRequest().body(response);
+		}
+		DataFormatEnum format = DataFormatEnum.fromMediaType(request.getContentType());
+		Charset charset = request.getCharacterEncoding() == null ? StandardCharsets.UTF_8
+				: Charset.forName(request.getCharacterEncoding());
+		try (Reader content = new InputStreamReader(request.getInputStream(), charset)) {
+			response.setData(this.ticketImportService.importTickets(content, format, owner));
+		} catch (IOException e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Status change applied to many tickets at once: the tickets listed in
+ * {@code ids}, the ones matching {@code filter}, or the listed ones that
+ * match the filter when both are given.
+ */
+public class BulkTransitionRequest implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String status;
+
+	private List<Long> ids;
+
+	private TicketFilter filter;
+
+	/**
+	 * Restricts the filter to the tickets assigned to the caller.
+	 */
+	private boolean assigned;
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public TicketFilter getFilter() {
+		return filter;
+	}
+
+	public void setFilter(TicketFilter filter) {
+		this.filter = filter;
+	}
+
+	public boolean isAssigned() {
+		return assigned;
+	}
+
+	public void setAssigned(boolean assigned) {
+		this.assigned = assigned;
+	}
+}
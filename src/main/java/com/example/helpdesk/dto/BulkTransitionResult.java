@@ -0,0 +1,87 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.helpdesk.enums.StatusEnum;
+
+/**
+ * Outcome of a bulk status change: how many tickets were changed, how many
+ * were rejected, and the result of every ticket.
+ */
+public class BulkTransitionResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long changed;
+
+	private long rejected;
+
+	private List<TicketResult> tickets = new ArrayList<TicketResult>();
+
+	public void changed(Long id, Long number, StatusEnum previousStatus, StatusEnum status) {
+		this.changed++;
+		this.tickets.add(new TicketResult(id, number, previousStatus, status, null));
+	}
+
+	public void reject(Long id, Long number, StatusEnum status, String message) {
+		this.rejected++;
+		this.tickets.add(new TicketResult(id, number, status, status, message));
+	}
+
+	public long getChanged() {
+		return changed;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public List<TicketResult> getTickets() {
+		return tickets;
+	}
+
+	public static class TicketResult implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Long id;
+
+		private final Long number;
+
+		private final StatusEnum previousStatus;
+
+		private final StatusEnum status;
+
+		private final String message;
+
+		public TicketResult(Long id, Long number, StatusEnum previousStatus, StatusEnum status, String message) {
+			this.id = id;
+			this.number = number;
+			this.previousStatus = previousStatus;
+			this.status = status;
+			this.message = message;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public Long getNumber() {
+			return number;
+		}
+
+		public StatusEnum getPreviousStatus() {
+			return previousStatus;
+		}
+
+		public StatusEnum getStatus() {
+			return status;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+
+/**
+ * Entry of the status history of a ticket. Built by a constructor expression
+ * joined to the user who made the change, without the ticket back-reference
+ * or the user's password.
+ */
+public class ChangeStatusView implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+
+	private Long ticketId;
+
+	private LocalDate dateChangeStatus;
+
+	private StatusEnum status;
+
+	private UserChange userChange;
+
+	public ChangeStatusView() {
+		super();
+	}
+
+	public ChangeStatusView(Long id, Long ticketId, LocalDate dateChangeStatus, StatusEnum status, Long userChangeId,
+			String userChangeEmail, ProfileEnum userChangeProfile) {
+		this.id = id;
+		this.ticketId = ticketId;
+		this.dateChangeStatus = dateChangeStatus;
+		this.status = status;
+		if (userChangeId != null) {
+			this.userChange = new UserChange(userChangeId, userChangeEmail, userChangeProfile);
+		}
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getTicketId() {
+		return ticketId;
+	}
+
+	public void setTicketId(Long ticketId) {
+		this.ticketId = ticketId;
+	}
+
+	public LocalDate getDateChangeStatus() {
+		return dateChangeStatus;
+	}
+
+	public void setDateChangeStatus(LocalDate dateChangeStatus) {
+		this.dateChangeStatus = dateChangeStatus;
+	}
+
+	public StatusEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEnum status) {
+		this.status = status;
+	}
+
+	public UserChange getUserChange() {
+		return userChange;
+	}
+
+	public void setUserChange(UserChange userChange) {
+		this.userChange = userChange;
+	}
+
+	public static class UserChange implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private Long id;
+
+		private String email;
+
+		private ProfileEnum profile;
+
+		public UserChange() {
+			super();
+		}
+
+		public UserChange(Long id, String email, ProfileEnum profile) {
+			this.id = id;
+			this.email = email;
+			this.profile = profile;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public ProfileEnum getProfile() {
+			return profile;
+		}
+
+		public void setProfile(ProfileEnum profile) {
+			this.profile = profile;
+		}
+	}
+}
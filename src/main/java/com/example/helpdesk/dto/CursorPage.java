@@ -0,0 +1,47 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) listing. {@code next} is the opaque token to
+ * send back as {@code after} to read the following page, and is
+ * {@code null} on the last page.
+ */
+public class CursorPage<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+
+	private String next;
+
+	public CursorPage() {
+		super();
+	}
+
+	public CursorPage(List<T> content, String next) {
+		this.content = content;
+		this.next = next;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public boolean isLast() {
+		return next == null;
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were stored, how many were
+ * rejected, and the first {@value #MAX_REPORTED_ERRORS} rejections with
+ * their line numbers.
+ */
+public class ImportResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	private long imported;
+
+	private long rejected;
+
+	private List<RowError> errors = new ArrayList<RowError>();
+
+	public void imported(int amount) {
+		this.imported += amount;
+	}
+
+	public void reject(long line, String message) {
+		this.rejected++;
+		if (this.errors.size() < MAX_REPORTED_ERRORS) {
+			this.errors.add(new RowError(line, message));
+		}
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public List<RowError> getErrors() {
+		return errors;
+	}
+
+	public static class RowError implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long line;
+
+		private final String message;
+
+		public RowError(long line, String message) {
+			this.line = line;
+			this.message = message;
+		}
+
+		public long getLine() {
+			return line;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
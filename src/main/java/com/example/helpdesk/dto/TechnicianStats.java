@@ -0,0 +1,162 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.helpdesk.enums.PriorityEnum;
+
+/**
+ * Workload of one technician: the tickets assigned to them and not closed
+ * yet, and for the requested days the first assignments they took and the
+ * tickets they closed, with the average days since the tickets were opened.
+ */
+public class TechnicianStats implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Long technicianId;
+
+	private long open;
+
+	private long assigned;
+
+	private long daysToAssign;
+
+	private long closed;
+
+	private long daysToClose;
+
+	private List<OpenTickets> openByPriority = new ArrayList<OpenTickets>();
+
+	private List<DailyStats> days = new ArrayList<DailyStats>();
+
+	public TechnicianStats(Long technicianId) {
+		this.technicianId = technicianId;
+	}
+
+	public void open(PriorityEnum priority, long amount) {
+		this.open += amount;
+		this.openByPriority.add(new OpenTickets(priority, amount));
+	}
+
+	public void day(LocalDate day, PriorityEnum priority, long assigned, long daysToAssign, long closed,
+			long daysToClose) {
+		this.assigned += assigned;
+		this.daysToAssign += daysToAssign;
+		this.closed += closed;
+		this.daysToClose += daysToClose;
+		this.days.add(new DailyStats(day, priority, assigned, average(daysToAssign, assigned), closed,
+				average(daysToClose, closed)));
+	}
+
+	private static Double average(long days, long amount) {
+		return amount == 0 ? null : (double) days / amount;
+	}
+
+	public Long getTechnicianId() {
+		return technicianId;
+	}
+
+	public long getOpen() {
+		return open;
+	}
+
+	public long getAssigned() {
+		return assigned;
+	}
+
+	public Double getAverageDaysToAssign() {
+		return average(daysToAssign, assigned);
+	}
+
+	public long getClosed() {
+		return closed;
+	}
+
+	public Double getAverageDaysToClose() {
+		return average(daysToClose, closed);
+	}
+
+	public List<OpenTickets> getOpenByPriority() {
+		return openByPriority;
+	}
+
+	public List<DailyStats> getDays() {
+		return days;
+	}
+
+	public static class OpenTickets implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final PriorityEnum priority;
+
+		private final long amount;
+
+		public OpenTickets(PriorityEnum priority, long amount) {
+			this.priority = priority;
+			this.amount = amount;
+		}
+
+		public PriorityEnum getPriority() {
+			return priority;
+		}
+
+		public long getAmount() {
+			return amount;
+		}
+	}
+
+	public static class DailyStats implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final LocalDate day;
+
+		private final PriorityEnum priority;
+
+		private final long assigned;
+
+		private final Double averageDaysToAssign;
+
+		private final long closed;
+
+		private final Double averageDaysToClose;
+
+		public DailyStats(LocalDate day, PriorityEnum priority, long assigned, Double averageDaysToAssign, long closed,
+				Double averageDaysToClose) {
+			this.day = day;
+			this.priority = priority;
+			this.assigned = assigned;
+			this.averageDaysToAssign = averageDaysToAssign;
+			this.closed = closed;
+			this.averageDaysToClose = averageDaysToClose;
+		}
+
+		public LocalDate getDay() {
+			return day;
+		}
+
+		public PriorityEnum getPriority() {
+			return priority;
+		}
+
+		public long getAssigned() {
+			return assigned;
+		}
+
+		public Double getAverageDaysToAssign() {
+			return averageDaysToAssign;
+		}
+
+		public long getClosed() {
+			return closed;
+		}
+
+		public Double getAverageDaysToClose() {
+			return averageDaysToClose;
+		}
+	}
+}
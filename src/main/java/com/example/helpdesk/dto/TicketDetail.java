@@ -0,0 +1,31 @@
+package com.example.helpdesk.dto;
+
+import java.util.List;
+
+import com.example.helpdesk.entity.Ticket;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * A ticket with its status history, as returned by the ticket detail. The
+ * ticket fields are written at the top level, next to {@code changes}.
+ */
+public class TicketDetail {
+
+	@JsonUnwrapped
+	private final Ticket ticket;
+
+	private final List<ChangeStatusView> changes;
+
+	public TicketDetail(Ticket ticket, List<ChangeStatusView> changes) {
+		this.ticket = ticket;
+		this.changes = changes;
+	}
+
+	public Ticket getTicket() {
+		return ticket;
+	}
+
+	public List<ChangeStatusView> getChanges() {
+		return changes;
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+
+/**
+ * Change made to a ticket, published by the ticket service once the change
+ * is committed and pushed to the subscribers of the event feed. It carries
+ * enough to update a listing in place, and the previous assignee and the
+ * opening day the technician workload needs; the detail is fetched on demand.
+ */
+public class TicketEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private TicketEventTypeEnum type;
+
+	private Long ticketId;
+
+	private Long number;
+
+	private String title;
+
+	private StatusEnum status;
+
+	private StatusEnum previousStatus;
+
+	private PriorityEnum priority;
+
+	private Long userId;
+
+	private Long assignedUserId;
+
+	private Long previousAssignedUserId;
+
+	private LocalDate date;
+
+	public TicketEvent() {
+		super();
+	}
+
+	public TicketEvent(TicketEventTypeEnum type, Ticket ticket, StatusEnum previousStatus,
+			Long previousAssignedUserId) {
+		this.type = type;
+		this.ticketId = ticket.getId();
+		this.number = ticket.getNumber();
+		this.title = ticket.getTitle();
+		this.status = ticket.getStatus();
+		this.previousStatus = previousStatus;
+		this.priority = ticket.getPriority();
+		this.userId = ticket.getUser() == null ? null : ticket.getUser().getId();
+		this.assignedUserId = ticket.getAssignedUser() == null ? null : ticket.getAssignedUser().getId();
+		this.previousAssignedUserId = previousAssignedUserId;
+		this.date = ticket.getDate();
+	}
+
+	public TicketEventTypeEnum getType() {
+		return type;
+	}
+
+	public void setType(TicketEventTypeEnum type) {
+		this.type = type;
+	}
+
+	public Long getTicketId() {
+		return ticketId;
+	}
+
+	public void setTicketId(Long ticketId) {
+		this.ticketId = ticketId;
+	}
+
+	public Long getNumber() {
+		return number;
+	}
+
+	public void setNumber(Long number) {
+		this.number = number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public StatusEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEnum status) {
+		this.status = status;
+	}
+
+	public StatusEnum getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public void setPreviousStatus(StatusEnum previousStatus) {
+		this.previousStatus = previousStatus;
+	}
+
+	public PriorityEnum getPriority() {
+		return priority;
+	}
+
+	public void setPriority(PriorityEnum priority) {
+		this.priority = priority;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getAssignedUserId() {
+		return assignedUserId;
+	}
+
+	public void setAssignedUserId(Long assignedUserId) {
+		this.assignedUserId = assignedUserId;
+	}
+
+	public Long getPreviousAssignedUserId() {
+		return previousAssignedUserId;
+	}
+
+	public void setPreviousAssignedUserId(Long previousAssignedUserId) {
+		this.previousAssignedUserId = previousAssignedUserId;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Row of the ticket export, built by a constructor expression. Being a plain
+ * object rather than an entity, nothing of it is kept in the persistence
+ * context while the export scrolls through the table.
+ */
+@JsonPropertyOrder({ "id", "number", "title", "description", "status", "priority", "date", "userEmail",
+		"assignedUserEmail" })
+public class TicketExportView implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+
+	private Long number;
+
+	private String title;
+
+	private String description;
+
+	private StatusEnum status;
+
+	private PriorityEnum priority;
+
+	private LocalDate date;
+
+	private String userEmail;
+
+	private String assignedUserEmail;
+
+	public TicketExportView() {
+		super();
+	}
+
+	public TicketExportView(Long id, Long number, String title, String description, StatusEnum status,
+			PriorityEnum priority, LocalDate date, String userEmail, String assignedUserEmail) {
+		this.id = id;
+		this.number = number;
+		this.title = title;
+		this.description = description;
+		this.status = status;
+		this.priority = priority;
+		this.date = date;
+		this.userEmail = userEmail;
+		this.assignedUserEmail = assignedUserEmail;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getNumber() {
+		return number;
+	}
+
+	public void setNumber(Long number) {
+		this.number = number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public StatusEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEnum status) {
+		this.status = status;
+	}
+
+	public PriorityEnum getPriority() {
+		return priority;
+	}
+
+	public void setPriority(PriorityEnum priority) {
+		this.priority = priority;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+
+	public String getUserEmail() {
+		return userEmail;
+	}
+
+	public void setUserEmail(String userEmail) {
+		this.userEmail = userEmail;
+	}
+
+	public String getAssignedUserEmail() {
+		return assignedUserEmail;
+	}
+
+	public void setAssignedUserEmail(String assignedUserEmail) {
+		this.assignedUserEmail = assignedUserEmail;
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+
+public class TicketFilter implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String title;
+
+	private StatusEnum status;
+
+	private PriorityEnum priority;
+
+	private Long userId;
+
+	private Long assignedUserId;
+
+	/**
+	 * Only tickets opened before this day.
+	 */
+	private LocalDate before;
+
+	public TicketFilter() {
+		super();
+	}
+
+	public TicketFilter(String title, String status, String priority) {
+		this.title = title == null || title.isEmpty() ? null : title;
+		this.status = status == null || status.isEmpty() ? null : StatusEnum.valueOf(status);
+		this.priority = priority == null || priority.isEmpty() ? null : PriorityEnum.valueOf(priority);
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public StatusEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEnum status) {
+		this.status = status;
+	}
+
+	public PriorityEnum getPriority() {
+		return priority;
+	}
+
+	public void setPriority(PriorityEnum priority) {
+		this.priority = priority;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getAssignedUserId() {
+		return assignedUserId;
+	}
+
+	public void setAssignedUserId(Long assignedUserId) {
+		this.assignedUserId = assignedUserId;
+	}
+
+	public LocalDate getBefore() {
+		return before;
+	}
+
+	public void setBefore(LocalDate before) {
+		this.before = before;
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.helpdesk.dto;
+
+/**
+ * One record of a bulk ticket import, as read from an NDJSON line or a CSV
+ * row. Values are kept as text and validated by the importer, so a bad value
+ * is reported against its line instead of failing the whole body.
+ */
+public class TicketImportRow {
+
+	private String title;
+
+	private String description;
+
+	private String priority;
+
+	private String status;
+
+	private String date;
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public String getPriority() {
+		return priority;
+	}
+
+	public void setPriority(String priority) {
+		this.priority = priority;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getDate() {
+		return date;
+	}
+
+	public void setDate(String date) {
+		this.date = date;
+	}
+}
@@ -2,27 +2,36 @@ package com.example.helpdesk.entity;
 
 import java.time.LocalDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.example.helpdesk.enums.StatusEnum;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ChangeStatus {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_status_id")
+	@SequenceGenerator(name = "change_status_id", sequenceName = "change_status_id_seq", allocationSize = 50)
 	private Long id;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Ticket ticket;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User userChange;
 	
 	private LocalDate dateChangeStatus;
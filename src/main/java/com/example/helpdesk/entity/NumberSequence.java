@@ -0,0 +1,67 @@
+package com.example.helpdesk.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Next value of a named number sequence. Instances reserve blocks of values
+ * by advancing {@code nextValue} under a row lock.
+ */
+@Entity
+public class NumberSequence {
+
+	@Id
+	private String name;
+
+	private Long nextValue;
+
+	public NumberSequence() {
+		super();
+	}
+
+	public NumberSequence(String name, Long nextValue) {
+		this.name = name;
+		this.nextValue = nextValue;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getNextValue() {
+		return nextValue;
+	}
+
+	public void setNextValue(Long nextValue) {
+		this.nextValue = nextValue;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		NumberSequence other = (NumberSequence) obj;
+		if (name == null) {
+			if (other.name != null)
+				return false;
+		} else if (!name.equals(other.name))
+			return false;
+		return true;
+	}
+}
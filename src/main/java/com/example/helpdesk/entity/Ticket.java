@@ -1,29 +1,53 @@
 package com.example.helpdesk.entity;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Transient;
-import javax.validation.constraints.Size;
+import javax.persistence.Version;
 
 import com.example.helpdesk.enums.PriorityEnum;
 import com.example.helpdesk.enums.StatusEnum;
 
 @Entity
+@NamedEntityGraph(name = Ticket.WITH_USERS, attributeNodes = { @NamedAttributeNode("user"),
+		@NamedAttributeNode("assignedUser") })
 public class Ticket {
 
+	public static final String WITH_USERS = "Ticket.withUsers";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_id")
+	@SequenceGenerator(name = "ticket_id", sequenceName = "ticket_id_seq", allocationSize = 50)
 	private Long id;
 
-	@ManyToOne
+	/**
+	 * Checked on every update, so two concurrent status changes cannot both
+	 * win.
+	 */
+	@Version
+	private Long version;
+
+	/**
+	 * Set on every insert and update, so the search index of every instance
+	 * can pick up the tickets changed by the others.
+	 */
+	private LocalDateTime lastModified;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User user;
 
 	private LocalDate date;
@@ -38,16 +62,17 @@ public class Ticket {
 	@Enumerated(EnumType.STRING)
 	private PriorityEnum priority;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User assignedUser;
 	
 	private String description;
 	
-	@Size(max = 2000000)
-	private String image;
-	
+	/**
+	 * Base64 image still accepted from clients on create and update. It is
+	 * moved to the ticket attachments and never stored in the ticket row.
+	 */
 	@Transient
-	private List<ChangeStatus> changes;
+	private String image;
 
 	public Long getId() {
 		return id;
@@ -57,6 +82,28 @@ public class Ticket {
 		this.id = id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		this.lastModified = LocalDateTime.now();
+	}
+
 	public User getUser() {
 		return user;
 	}
@@ -129,14 +176,6 @@ public class Ticket {
 		this.image = image;
 	}
 
-	public List<ChangeStatus> getChanges() {
-		return changes;
-	}
-
-	public void setChanges(List<ChangeStatus> changes) {
-		this.changes = changes;
-	}
-
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -0,0 +1,34 @@
+package com.example.helpdesk.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats of the bulk ticket import and export.
+ */
+public enum DataFormatEnum {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv");
+
+	private final MediaType mediaType;
+
+	private final String extension;
+
+	DataFormatEnum(String mediaType, String extension) {
+		this.mediaType = MediaType.parseMediaType(mediaType);
+		this.extension = extension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static DataFormatEnum fromMediaType(String contentType) {
+		MediaType mediaType = MediaType.parseMediaType(contentType);
+		return CSV.mediaType.isCompatibleWith(mediaType) ? CSV : NDJSON;
+	}
+}
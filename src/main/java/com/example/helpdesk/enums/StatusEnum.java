@@ -1,25 +1,24 @@
 package com.example.helpdesk.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum StatusEnum {
 
 	New, Assigned, Resolved, Approved, Disapproved, Closed;
 
-	public static StatusEnum getStatus(String status) {
-		switch (status) {
-		case "New":
-			return New;
-		case "Assigned":
-			return Assigned;
-		case "Resolved":
-			return Resolved;
-		case "Approved":
-			return Approved;
-		case "Disapproved":
-			return Disapproved;
-		case "Closed":
-			return Closed;
-		default:
-			return New;
+	private static final Map<String, StatusEnum> BY_NAME = new HashMap<>();
+
+	static {
+		for (StatusEnum status : values()) {
+			BY_NAME.put(status.name(), status);
 		}
 	}
+
+	/**
+	 * The status with this name, or {@code null} when there is none.
+	 */
+	public static StatusEnum getStatus(String status) {
+		return status == null ? null : BY_NAME.get(status);
+	}
 }
@@ -0,0 +1,7 @@
+package com.example.helpdesk.enums;
+
+public enum TicketEventTypeEnum {
+
+	CREATED, UPDATED, STATUS_CHANGED, DELETED;
+
+}
@@ -0,0 +1,100 @@
+package com.example.helpdesk.filter;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.helpdesk.service.impl.RequestMetrics;
+import com.example.helpdesk.service.impl.SqlCounter;
+
+/**
+ * Records the latency and the SQL of every controller method, from the first
+ * dispatch of the request to its completion, so the endpoints running on the
+ * {@code TicketRequestExecutor} are measured including their queueing.
+ * Event feeds are left out: they stay open for the whole subscription.
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".START";
+
+	private static final String COUNTER_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".COUNTER";
+
+	private static final String UNMEASURED = "";
+
+	private final Map<Method, String> handlerNames = new ConcurrentHashMap<>();
+
+	@Autowired
+	private RequestMetrics requestMetrics;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handlerName(handler) == UNMEASURED) {
+			return true;
+		}
+		SqlCounter counter = (SqlCounter) request.getAttribute(COUNTER_ATTRIBUTE);
+		if (counter == null) {
+			counter = new SqlCounter();
+			request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+			request.setAttribute(COUNTER_ATTRIBUTE, counter);
+		}
+		SqlCounter.bind(counter);
+		return true;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		SqlCounter.restore(null);
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		String name = handlerName(handler);
+		if (name == UNMEASURED) {
+			return;
+		}
+		SqlCounter.restore(null);
+		Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+		if (start != null) {
+			this.requestMetrics.recordRequest(name, System.nanoTime() - start,
+					(SqlCounter) request.getAttribute(COUNTER_ATTRIBUTE));
+		}
+	}
+
+	private String handlerName(Object handler) {
+		if (!(handler instanceof HandlerMethod)) {
+			return UNMEASURED;
+		}
+		HandlerMethod handlerMethod = (HandlerMethod) handler;
+		return this.handlerNames.computeIfAbsent(handlerMethod.getMethod(),
+				method -> isEventFeed(method) ? UNMEASURED
+						: handlerMethod.getBeanType().getSimpleName() + "." + method.getName());
+	}
+
+	private static boolean isEventFeed(Method method) {
+		ResolvableType type = ResolvableType.forMethodReturnType(method);
+		if (HttpEntity.class.isAssignableFrom(type.resolve(Object.class))) {
+			type = type.as(HttpEntity.class).getGeneric(0);
+		}
+		return ResponseBodyEmitter.class.isAssignableFrom(type.resolve(Object.class));
+	}
+}
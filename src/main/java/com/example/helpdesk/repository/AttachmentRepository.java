@@ -0,0 +1,16 @@
+package com.example.helpdesk.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.helpdesk.entity.Attachment;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+	List<Attachment> findByTicketIdOrderByIdAsc(Long ticketId);
+
+	Attachment findFirstByTicketIdAndHash(Long ticketId, String hash);
+
+	long countByHash(String hash);
+}
@@ -1,10 +1,47 @@
 package com.example.helpdesk.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.helpdesk.dto.ChangeStatusView;
 import com.example.helpdesk.entity.ChangeStatus;
+import com.example.helpdesk.enums.StatusEnum;
 
 public interface ChangeStatusRepository extends JpaRepository<ChangeStatus, Long> {
 	
 	Iterable<ChangeStatus> findByTicketIdOrderByDateChangeStatusDesc(Long ticketId);
+
+	@Query("SELECT new com.example.helpdesk.dto.ChangeStatusView(c.id, c.ticket.id, c.dateChangeStatus, c.status, u.id, u.email, u.profile) "
+			+ "FROM ChangeStatus c LEFT JOIN c.userChange u WHERE c.ticket.id = :ticketId "
+			+ "ORDER BY c.dateChangeStatus DESC, c.id DESC")
+	List<ChangeStatusView> findViewsByTicketId(@Param("ticketId") Long ticketId);
+
+	@Query("SELECT new com.example.helpdesk.dto.ChangeStatusView(c.id, c.ticket.id, c.dateChangeStatus, c.status, u.id, u.email, u.profile) "
+			+ "FROM ChangeStatus c LEFT JOIN c.userChange u WHERE c.ticket.id IN :ticketIds "
+			+ "ORDER BY c.ticket.id, c.dateChangeStatus DESC, c.id DESC")
+	List<ChangeStatusView> findViewsByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+	/**
+	 * First change of every ticket to the status, counted per acting user,
+	 * day, ticket priority and ticket opening day, as rows of
+	 * {@code [Long, LocalDate, PriorityEnum, LocalDate, Long]}.
+	 */
+	@Query("SELECT c.userChange.id, c.dateChangeStatus, t.priority, t.date, COUNT(c) FROM ChangeStatus c JOIN c.ticket t "
+			+ "WHERE c.status = :status AND c.id = (SELECT MIN(f.id) FROM ChangeStatus f WHERE f.ticket = t AND f.status = :status) "
+			+ "GROUP BY c.userChange.id, c.dateChangeStatus, t.priority, t.date")
+	List<Object[]> countFirstGroupByUserChangeIdAndDay(@Param("status") StatusEnum status);
+
+	/**
+	 * Changes to the status counted per current assignee of the ticket, day,
+	 * ticket priority and ticket opening day, as rows of
+	 * {@code [Long, LocalDate, PriorityEnum, LocalDate, Long]}.
+	 */
+	@Query("SELECT t.assignedUser.id, c.dateChangeStatus, t.priority, t.date, COUNT(c) FROM ChangeStatus c JOIN c.ticket t "
+			+ "WHERE c.status = :status AND t.assignedUser IS NOT NULL "
+			+ "GROUP BY t.assignedUser.id, c.dateChangeStatus, t.priority, t.date")
+	List<Object[]> countGroupByAssignedUserIdAndDay(@Param("status") StatusEnum status);
 }
@@ -0,0 +1,17 @@
+package com.example.helpdesk.repository;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.helpdesk.entity.NumberSequence;
+
+public interface NumberSequenceRepository extends JpaRepository<NumberSequence, String> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM NumberSequence s WHERE s.name = :name")
+	NumberSequence findByNameForUpdate(@Param("name") String name);
+}
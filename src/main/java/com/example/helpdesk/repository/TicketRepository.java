@@ -1,23 +1,78 @@
 package com.example.helpdesk.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.helpdesk.dto.TicketSummaryView;
 import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.StatusEnum;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
-	Page<Ticket> findByUserIdOrderByDateDesc(Pageable pages, Long userId);
+	@EntityGraph(Ticket.WITH_USERS)
+	Ticket findWithUsersById(Long id);
+
+	@Override
+	@EntityGraph(Ticket.WITH_USERS)
+	List<Ticket> findAll();
+
+	@Query(value = "SELECT new com.example.helpdesk.dto.TicketSummaryView(t.id, t.number, t.title, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a",
+			countQuery = "SELECT COUNT(t) FROM Ticket t")
+	Page<TicketSummaryView> findAllSummaries(Pageable pages);
+
+	@Query(value = "SELECT new com.example.helpdesk.dto.TicketSummaryView(t.id, t.number, t.title, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a WHERE t.user.id = :userId",
+			countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.user.id = :userId")
+	Page<TicketSummaryView> findSummariesByUserId(@Param("userId") Long userId, Pageable pages);
+
+	@Query(value = "SELECT new com.example.helpdesk.dto.TicketSummaryView(t.id, t.number, t.title, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a WHERE t.number = :number",
+			countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.number = :number")
+	Page<TicketSummaryView> findSummariesByNumber(@Param("number") Long number, Pageable pages);
+
+	@Query("SELECT new com.example.helpdesk.dto.TicketSummaryView(t.id, t.number, t.title, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a WHERE t.id IN :ids")
+	List<TicketSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	@EntityGraph(Ticket.WITH_USERS)
+	List<Ticket> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+	@EntityGraph(Ticket.WITH_USERS)
+	List<Ticket> findTop500ByLastModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(LocalDateTime since, Long id);
+
+	/**
+	 * Status and assignee of the ticket, as at most one row of
+	 * {@code [StatusEnum, Long]}.
+	 */
+	@Query("SELECT t.status, a.id FROM Ticket t LEFT JOIN t.assignedUser a WHERE t.id = :id")
+	List<Object[]> findStatusAndAssignedUserIdById(@Param("id") Long id);
 
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingOrderByDateDesc(String title,
-			String status, String priority, Pageable pages);
+	/**
+	 * Amount of tickets per status, as rows of {@code [StatusEnum, Long]}.
+	 */
+	@Query("SELECT t.status, COUNT(t) FROM Ticket t GROUP BY t.status")
+	List<Object[]> countGroupByStatus();
 
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndUserIdOrderByDateDesc(
-			String title, String status, String priority, Long userId, Pageable pages);
+	@Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.user.id = :userId GROUP BY t.status")
+	List<Object[]> countGroupByStatusAndUserId(@Param("userId") Long userId);
 
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndAssignedUserIdOrderByDateDesc(
-			String title, String status, String priority, Long userId, Pageable pages);
+	@Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.assignedUser.id = :assignedUserId GROUP BY t.status")
+	List<Object[]> countGroupByStatusAndAssignedUserId(@Param("assignedUserId") Long assignedUserId);
 
-	Page<Ticket> findByNumber(Long number, Pageable pages);
+	/**
+	 * Amount of assigned tickets not in the given status per technician and
+	 * priority, as rows of {@code [Long, PriorityEnum, Long]}.
+	 */
+	@Query("SELECT t.assignedUser.id, t.priority, COUNT(t) FROM Ticket t "
+			+ "WHERE t.assignedUser IS NOT NULL AND t.status <> :closed GROUP BY t.assignedUser.id, t.priority")
+	List<Object[]> countOpenGroupByAssignedUserIdAndPriority(@Param("closed") StatusEnum closed);
 }
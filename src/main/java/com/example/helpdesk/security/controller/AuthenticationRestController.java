@@ -49,8 +49,7 @@ public class AuthenticationRestController {
 		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(authenticationRequest.getEmail());
 		final String token = this.jwtTokenUtil.generateToken(userDetails);
 		final User user = this.userService.findByEmail(authenticationRequest.getEmail());
-		user.setPassword(null);
-		return ResponseEntity.ok(new CurrentUser(token, user));
+		return ResponseEntity.ok(new CurrentUser(token, withoutPassword(user)));
 	}
 
 	@PostMapping("api/refresh")
@@ -61,9 +60,17 @@ public class AuthenticationRestController {
 
 		if (this.jwtTokenUtil.canTokenBeRefreshed(token)) {
 			String refreshedToken = this.jwtTokenUtil.refreshToken(token);
-			return ResponseEntity.ok(new CurrentUser(refreshedToken, user));
+			return ResponseEntity.ok(new CurrentUser(refreshedToken, withoutPassword(user)));
 		} else {
 			return ResponseEntity.badRequest().body(null);
 		}
 	}
+
+	private User withoutPassword(User user) {
+		User copy = new User();
+		copy.setId(user.getId());
+		copy.setEmail(user.getEmail());
+		copy.setProfile(user.getProfile());
+		return copy;
+	}
 }
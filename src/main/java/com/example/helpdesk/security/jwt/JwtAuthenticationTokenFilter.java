@@ -15,6 +15,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.helpdesk.service.impl.RequestMetrics;
+
+import io.jsonwebtoken.Claims;
+
 public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
 
 	@Autowired
@@ -23,15 +27,24 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
 	@Autowired
 	private JwtTokenUtil jwtTokenUtil;
 
+	@Autowired
+	private RequestMetrics requestMetrics;
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
 			throws ServletException, IOException {
-		String authToken = request.getHeader("Authorization");
-		String username = this.jwtTokenUtil.getUsernameFromToken(authToken);
+		long start = System.nanoTime();
+		Claims claims = this.jwtTokenUtil.getClaimsFromRequest(request);
+		String username = claims == null ? null : claims.getSubject();
+		if (request.getHeader("Authorization") != null) {
+			this.requestMetrics.recordJwtParse(System.nanoTime() - start);
+		}
 
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			start = System.nanoTime();
 			UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-			if (this.jwtTokenUtil.validateToken(authToken, userDetails)) {
+			this.requestMetrics.recordUserLookup(System.nanoTime() - start);
+			if (this.jwtTokenUtil.validateClaims(claims, userDetails)) {
 				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
 						userDetails, null, userDetails.getAuthorities());
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,17 +1,29 @@
 package com.example.helpdesk.security.jwt;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClaims;
 
 @Component
 public class JwtTokenUtil implements Serializable {
@@ -22,12 +34,49 @@ public class JwtTokenUtil implements Serializable {
 	static final String CLAIM_KEY_CREATED = "created";
 	static final String CLAIM_KEY_EXPIRED = "exp";
 
+	/**
+	 * Request attribute holding the claims of the request token, so the token
+	 * is verified once per request.
+	 */
+	public static final String CLAIMS_ATTRIBUTE = JwtTokenUtil.class.getName() + ".CLAIMS";
+
+	private static final Claims INVALID_CLAIMS = new DefaultClaims();
+
 	@Value("${jwt.secret}")
 	private String secret;
 
 	@Value("${jwt.expiration}")
 	private Long expiration;
 
+	@Value("${jwt.claims-cache.size}")
+	private long claimsCacheSize;
+
+	@Value("${jwt.claims-cache.ttl}")
+	private long claimsCacheTtl;
+
+	/**
+	 * Claims of tokens whose signature was already verified, keyed by the
+	 * SHA-256 of the token.
+	 */
+	private transient Cache<String, Claims> claimsCache;
+
+	@PostConstruct
+	public void init() {
+		this.claimsCache = Caffeine.newBuilder()
+				.maximumSize(this.claimsCacheSize)
+				.expireAfterWrite(this.claimsCacheTtl, TimeUnit.SECONDS)
+				.build();
+	}
+
+	public Claims getClaimsFromRequest(HttpServletRequest request) {
+		Claims claims = (Claims) request.getAttribute(CLAIMS_ATTRIBUTE);
+		if (claims == null) {
+			claims = getClaimsFromToken(request.getHeader("Authorization"));
+			request.setAttribute(CLAIMS_ATTRIBUTE, claims == null ? INVALID_CLAIMS : claims);
+		}
+		return claims == INVALID_CLAIMS ? null : claims;
+	}
+
 	public String getUsernameFromToken(String token) {
 		String username;
 		try {
@@ -51,17 +100,38 @@ public class JwtTokenUtil implements Serializable {
 	}
 
 	private Claims getClaimsFromToken(String token) {
-		Claims claims;
+		if (token == null) {
+			return null;
+		}
+		final String key = hash(token);
+		Claims claims = this.claimsCache.getIfPresent(key);
+		if (claims != null) {
+			if (claims.getExpiration() == null || claims.getExpiration().after(new Date())) {
+				return claims;
+			}
+			this.claimsCache.invalidate(key);
+			return null;
+		}
 		try {
 			claims = Jwts.parser()
 					.setSigningKey(secret)
 					.parseClaimsJws(token)
 					.getBody();
+			this.claimsCache.put(key, claims);
 		} catch (Exception e) {
 			claims = null;
 		}
 		return claims;
 	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 	
 	private Boolean isTokenExpired(String token) {
 		final Date expiration = getExpirationDateFromToken(token);
@@ -96,7 +166,7 @@ public class JwtTokenUtil implements Serializable {
 	public String refreshToken(String token) {
 		String refreshedToken;
 		try {
-			final Claims claims = getClaimsFromToken(token);
+			final Claims claims = new DefaultClaims(getClaimsFromToken(token));
 			claims.put(CLAIM_KEY_CREATED, new Date());
 			refreshedToken = doGenerateToken(claims);
 		} catch (Exception e) {
@@ -111,4 +181,9 @@ public class JwtTokenUtil implements Serializable {
 		return (username.equals(user.getUsername()) && !isTokenExpired(token));
 	}
 
+	public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+		JwtUser user = (JwtUser) userDetails;
+		return (claims.getSubject().equals(user.getUsername()) && claims.getExpiration().after(new Date()));
+	}
+
 }
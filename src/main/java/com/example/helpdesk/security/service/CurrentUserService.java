@@ -0,0 +1,25 @@
+package com.example.helpdesk.security.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.security.jwt.JwtUser;
+import com.example.helpdesk.service.UserService;
+
+/**
+ * The user of the authenticated request, resolved through the cached
+ * {@link UserService#findByEmail(String)}.
+ */
+@Component
+public class CurrentUserService {
+
+	@Autowired
+	private UserService userService;
+
+	public User currentUser() {
+		JwtUser principal = (JwtUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		return this.userService.findByEmail(principal.getUsername());
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.helpdesk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.entity.Attachment;
+import com.example.helpdesk.entity.Ticket;
+
+@Component
+public interface AttachmentService {
+
+	Attachment create(Ticket ticket, String fileName, String contentType, InputStream content) throws IOException;
+
+	Attachment createFromDataUrl(Ticket ticket, String dataUrl) throws IOException;
+
+	Attachment findById(Long id);
+
+	List<Attachment> findByTicket(Long ticketId);
+
+	Path content(Attachment attachment);
+
+	void delete(Long id);
+
+	void deleteByTicket(Long ticketId);
+}
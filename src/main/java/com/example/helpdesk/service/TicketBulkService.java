@@ -0,0 +1,26 @@
+package com.example.helpdesk.service;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.dto.BulkTransitionResult;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.StatusEnum;
+
+@Component
+public interface TicketBulkService {
+
+	/**
+	 * Moves the tickets with these ids and/or matching this filter to the
+	 * target status, assigning them to the actor when the target is
+	 * {@code Assigned}, in one transaction. Tickets the {@link TicketWorkflow}
+	 * does not allow are reported and left unchanged.
+	 *
+	 * @throws IllegalArgumentException when more tickets match than one
+	 *             request may change
+	 */
+	BulkTransitionResult transition(Collection<Long> ids, TicketFilter filter, StatusEnum targetStatus, User actor);
+
+}
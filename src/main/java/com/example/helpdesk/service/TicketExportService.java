@@ -0,0 +1,16 @@
+package com.example.helpdesk.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.enums.DataFormatEnum;
+
+@Component
+public interface TicketExportService {
+
+	long exportTickets(TicketFilter filter, DataFormatEnum format, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,17 @@
+package com.example.helpdesk.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.dto.ImportResult;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.DataFormatEnum;
+
+@Component
+public interface TicketImportService {
+
+	ImportResult importTickets(Reader content, DataFormatEnum format, User owner) throws IOException;
+
+}
@@ -1,10 +1,23 @@
 package com.example.helpdesk.service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import com.example.helpdesk.dto.ChangeStatusView;
+import com.example.helpdesk.dto.CursorPage;
+import com.example.helpdesk.dto.Summary;
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.dto.TicketSummaryView;
 import com.example.helpdesk.entity.ChangeStatus;
 import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.StatusEnum;
 
 @Component
 public interface TicketService {
@@ -13,26 +26,69 @@ public interface TicketService {
 
 	Ticket findById(Long id);
 
+	Long nextNumber();
+
 	void delete(Long id);
 
-	Page<Ticket> listTicket(int page, int count);
+	Page<TicketSummaryView> listTicket(int page, int count);
 
 	ChangeStatus createChangeStatus(ChangeStatus changeStatus);
 
-	Iterable<ChangeStatus> lisChangeStatus(Long ticketId);
+	/**
+	 * Moves the ticket to the target status, assigning it to the actor when
+	 * the target is {@code Assigned}, and records the change, in one
+	 * transaction.
+	 * 
+	 * @throws IllegalArgumentException when the ticket does not exist
+	 * @throws IllegalStateException when the {@link TicketWorkflow} does not
+	 *             allow the actor this change
+	 * @throws org.springframework.dao.OptimisticLockingFailureException when
+	 *             the ticket kept changing concurrently
+	 */
+	Ticket transition(Long id, StatusEnum targetStatus, User actor);
+
+	List<ChangeStatusView> lisChangeStatus(Long ticketId);
+
+	Map<Long, List<ChangeStatusView>> lisChangeStatus(Collection<Long> ticketIds);
 
-	Page<Ticket> findByCurrentUser(int page, int count, Long userId);
+	Page<TicketSummaryView> findByCurrentUser(int page, int count, Long userId);
 
-	Page<Ticket> findByParameters(int page, int count, String title, String status, String priority);
+	Page<TicketSummaryView> findByParameters(int page, int count, String title, String status, String priority, Sort sort);
 
-	Page<Ticket> findByParametersAndCurrentUser(int page, int count, String title, String status, String priority,
-			Long userId);
+	Page<TicketSummaryView> findByParametersAndCurrentUser(int page, int count, String title, String status, String priority,
+			Long userId, Sort sort);
 
-	Page<Ticket> findByNumber(int page, int count, Long number);
+	Page<TicketSummaryView> findByNumber(int page, int count, Long number);
 
 	Iterable<Ticket> findAll();
 
-	Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority,
-			Long assignedUser);
+	Page<TicketSummaryView> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority,
+			Long assignedUser, Sort sort);
+
+	CursorPage<TicketSummaryView> listTicket(String cursor, int count);
+
+	CursorPage<TicketSummaryView> findByCurrentUser(String cursor, int count, Long userId);
+
+	CursorPage<TicketSummaryView> findByParameters(String cursor, int count, String title, String status, String priority);
+
+	CursorPage<TicketSummaryView> findByParametersAndCurrentUser(String cursor, int count, String title, String status,
+			String priority, Long userId);
+
+	CursorPage<TicketSummaryView> findByParameterAndAssignedUser(String cursor, int count, String title, String status,
+			String priority, Long assignedUser);
+
+	Page<TicketSummaryView> search(int page, int count, String text, Long userId, Long assignedUser);
+
+	Summary summarize();
+
+	Summary summarizeByCurrentUser(Long userId);
+
+	Summary summarizeByAssignedUser(Long assignedUser);
+
+	/**
+	 * Open tickets of every technician, or of only the given one, and their
+	 * assignments and closes between both days inclusive.
+	 */
+	List<TechnicianStats> statsByTechnician(LocalDate from, LocalDate to, Long technicianId);
 
 }
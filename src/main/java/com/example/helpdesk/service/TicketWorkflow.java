@@ -0,0 +1,24 @@
+package com.example.helpdesk.service;
+
+import java.util.Set;
+
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+
+/**
+ * The status changes each profile may make. Checked in memory before any
+ * write; declare a bean of this type to replace the default
+ * {@code TransitionTable}.
+ */
+public interface TicketWorkflow {
+
+	boolean allows(StatusEnum from, StatusEnum to, ProfileEnum profile);
+
+	/**
+	 * Why the profile may not move a ticket from one status to the other, or
+	 * {@code null} when it may.
+	 */
+	String reject(StatusEnum from, StatusEnum to, ProfileEnum profile);
+
+	Set<StatusEnum> targets(StatusEnum from, ProfileEnum profile);
+}
@@ -0,0 +1,127 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.helpdesk.entity.Attachment;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.repository.AttachmentRepository;
+import com.example.helpdesk.service.AttachmentService;
+import com.example.helpdesk.service.impl.AttachmentStore.StoredContent;
+
+@Service
+public class AttachmentServiceImpl implements AttachmentService {
+
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private AttachmentRepository attachmentRepository;
+
+	@Autowired
+	private AttachmentStore attachmentStore;
+
+	@Value("${attachment.collect-grace-period}")
+	private long collectGracePeriod;
+
+	@Override
+	public Attachment create(Ticket ticket, String fileName, String contentType, InputStream content)
+			throws IOException {
+		StoredContent stored = this.attachmentStore.store(content);
+		Attachment attachment = new Attachment();
+		attachment.setTicket(ticket);
+		attachment.setFileName(fileName);
+		attachment.setContentType(contentType == null ? DEFAULT_CONTENT_TYPE : contentType);
+		attachment.setSize(stored.getSize());
+		attachment.setHash(stored.getHash());
+		attachment.setDate(LocalDate.now());
+		return this.attachmentRepository.save(attachment);
+	}
+
+	/**
+	 * Stores the base64 {@code data:} URL the clients used to send in
+	 * {@code Ticket.image}. Sending the same image again does not add a
+	 * second attachment to the ticket.
+	 */
+	@Override
+	public Attachment createFromDataUrl(Ticket ticket, String dataUrl) throws IOException {
+		String contentType = DEFAULT_CONTENT_TYPE;
+		String data = dataUrl;
+		int comma = dataUrl.indexOf(',');
+		if (dataUrl.startsWith("data:") && comma > 0) {
+			String header = dataUrl.substring("data:".length(), comma);
+			int parameters = header.indexOf(';');
+			contentType = parameters < 0 ? header : header.substring(0, parameters);
+			data = dataUrl.substring(comma + 1);
+		}
+		byte[] content = Base64.getMimeDecoder().decode(data.getBytes(StandardCharsets.US_ASCII));
+		StoredContent stored = this.attachmentStore.store(new ByteArrayInputStream(content));
+		Attachment existing = this.attachmentRepository.findFirstByTicketIdAndHash(ticket.getId(), stored.getHash());
+		if (existing != null) {
+			return existing;
+		}
+		Attachment attachment = new Attachment();
+		attachment.setTicket(ticket);
+		attachment.setFileName("image");
+		attachment.setContentType(contentType.isEmpty() ? DEFAULT_CONTENT_TYPE : contentType);
+		attachment.setSize(stored.getSize());
+		attachment.setHash(stored.getHash());
+		attachment.setDate(LocalDate.now());
+		return this.attachmentRepository.save(attachment);
+	}
+
+	@Override
+	public Attachment findById(Long id) {
+		return this.attachmentRepository.findOne(id);
+	}
+
+	@Override
+	public List<Attachment> findByTicket(Long ticketId) {
+		return this.attachmentRepository.findByTicketIdOrderByIdAsc(ticketId);
+	}
+
+	@Override
+	public Path content(Attachment attachment) {
+		return this.attachmentStore.resolve(attachment.getHash());
+	}
+
+	@Override
+	public void delete(Long id) {
+		Attachment attachment = this.attachmentRepository.findOne(id);
+		if (attachment != null) {
+			this.attachmentRepository.delete(attachment);
+		}
+	}
+
+	@Override
+	public void deleteByTicket(Long ticketId) {
+		for (Attachment attachment : this.attachmentRepository.findByTicketIdOrderByIdAsc(ticketId)) {
+			this.attachmentRepository.delete(attachment);
+		}
+	}
+
+	/**
+	 * Deletes the stored contents left without attachments, once no upload
+	 * stored them for {@code attachment.collect-grace-period}.
+	 */
+	@Scheduled(fixedDelayString = "${attachment.collect-interval}", initialDelayString = "${attachment.collect-interval}")
+	public void collectUnusedContent() throws IOException {
+		int deleted = this.attachmentStore.collect(this.collectGracePeriod,
+				hash -> this.attachmentRepository.countByHash(hash) > 0);
+		logger.debug(deleted + " unused attachment files deleted");
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed file store for the ticket attachments. Each content is
+ * written once under its SHA-256, so the same file attached to many tickets
+ * takes the disk space of one.
+ * <p>
+ * Contents are never deleted when an attachment is: an upload of the same
+ * content may be about to reference it. {@link #collect} deletes the files
+ * no attachment references that were not stored again for a while, and
+ * storing a content that already exists refreshes its modification time.
+ * Storing and collecting the same hash are serialized within the instance.
+ */
+@Component
+public class AttachmentStore {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private static final int LOCKS = 64;
+
+	private final Path root;
+
+	private final Object[] locks = new Object[LOCKS];
+
+	public AttachmentStore(@Value("${attachment.storage-dir}") String root) throws IOException {
+		this.root = Paths.get(root).toAbsolutePath();
+		Files.createDirectories(this.root.resolve("tmp"));
+		for (int i = 0; i < LOCKS; i++) {
+			this.locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Streams the content to a temporary file while hashing it, then moves it
+	 * to its content address.
+	 */
+	public StoredContent store(InputStream content) throws IOException {
+		Path temporary = Files.createTempFile(this.root.resolve("tmp"), "upload", null);
+		try {
+			MessageDigest digest = sha256();
+			long size;
+			try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temporary), digest)) {
+				size = copy(content, out);
+			}
+			String hash = toHex(digest.digest());
+			Path target = resolve(hash);
+			synchronized (lock(hash)) {
+				if (Files.exists(target)) {
+					Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+				} else {
+					Files.createDirectories(target.getParent());
+					try {
+						Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+					} catch (FileAlreadyExistsException e) {
+						// stored concurrently by another instance
+					}
+				}
+			}
+			return new StoredContent(hash, size);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	public Path resolve(String hash) {
+		return this.root.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	/**
+	 * Deletes the contents not stored for {@code gracePeriod} milliseconds
+	 * that are not referenced, and the temporary files of uploads that died
+	 * that long ago. Returns the amount of files deleted.
+	 */
+	public int collect(long gracePeriod, Predicate<String> referenced) throws IOException {
+		long before = System.currentTimeMillis() - gracePeriod;
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(this.root)) {
+			files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+		int deleted = 0;
+		for (Path file : files) {
+			if (!isOlder(file, before)) {
+				continue;
+			}
+			if (file.getParent().equals(this.root.resolve("tmp"))) {
+				deleted += Files.deleteIfExists(file) ? 1 : 0;
+				continue;
+			}
+			String hash = file.getFileName().toString();
+			synchronized (lock(hash)) {
+				if (isOlder(file, before) && !referenced.test(hash)) {
+					deleted += Files.deleteIfExists(file) ? 1 : 0;
+				}
+			}
+		}
+		return deleted;
+	}
+
+	private static boolean isOlder(Path file, long before) throws IOException {
+		return Files.exists(file) && Files.getLastModifiedTime(file).toMillis() < before;
+	}
+
+	private Object lock(String hash) {
+		return this.locks[(hash.hashCode() & Integer.MAX_VALUE) % LOCKS];
+	}
+
+	private static long copy(InputStream in, OutputStream out) throws IOException {
+		byte[] buffer = new byte[8192];
+		long size = 0;
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+			size += read;
+		}
+		return size;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	public static class StoredContent {
+
+		private final String hash;
+
+		private final long size;
+
+		StoredContent(String hash, long size) {
+			this.hash = hash;
+			this.size = size;
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		public long getSize() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state of the connection pool as actuator metrics: its size
+ * and utilization, the threads waiting for a connection, how long getting a
+ * connection takes and how many requests gave up after
+ * {@code spring.datasource.tomcat.max-wait}. The wait is measured by the
+ * {@link TimedDataSource} wrapping the pool, so every consumer of the data
+ * source is counted.
+ */
+@Component
+public class ConnectionPoolMonitor implements PublicMetrics {
+
+	private static final String PREFIX = "datasource.pool.";
+
+	private final TimedDataSource dataSource;
+
+	@Autowired
+	public ConnectionPoolMonitor(DataSource dataSource) {
+		this.dataSource = dataSource instanceof TimedDataSource ? (TimedDataSource) dataSource : null;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.dataSource == null) {
+			return Collections.emptyList();
+		}
+		org.apache.tomcat.jdbc.pool.DataSource pool = this.dataSource.getPool();
+		Collection<Metric<?>> metrics = new ArrayList<>();
+		int active = pool.getActive();
+		int max = pool.getMaxActive();
+		long acquired = this.dataSource.getAcquired();
+		metrics.add(new Metric<Integer>(PREFIX + "active", active));
+		metrics.add(new Metric<Integer>(PREFIX + "idle", pool.getIdle()));
+		metrics.add(new Metric<Integer>(PREFIX + "max", max));
+		metrics.add(new Metric<Double>(PREFIX + "usage", max > 0 ? (double) active / max : 0));
+		metrics.add(new Metric<Integer>(PREFIX + "waiting", pool.getWaitCount()));
+		metrics.add(new Metric<Long>(PREFIX + "acquired", acquired));
+		metrics.add(new Metric<Double>(PREFIX + "wait.mean",
+				acquired > 0 ? toMillis(this.dataSource.getWaitNanos()) / acquired : 0));
+		metrics.add(new Metric<Double>(PREFIX + "wait.max", toMillis(this.dataSource.getMaxWaitNanos())));
+		metrics.add(new Metric<Long>(PREFIX + "timeouts", this.dataSource.getTimeouts()));
+		metrics.add(new Metric<Long>(PREFIX + "abandoned", pool.getRemoveAbandonedCount()));
+		return metrics;
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency and SQL distributions of the API: the latency, statements executed
+ * and rows fetched per handler method, and the time spent verifying the JWT
+ * and loading the caller in the authentication filter. Values are recorded
+ * into HdrHistogram recorders, which are wait-free for the request threads;
+ * the quantiles cover the values recorded since the previous scrape, the
+ * counts and sums everything since startup.
+ */
+@Component
+public class RequestMetrics {
+
+	public static final double[] QUANTILES = { 0.5, 0.95, 0.99 };
+
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+	private static final long MAX_STATEMENTS = 10_000;
+
+	private static final long MAX_ROWS = 10_000_000;
+
+	private final ConcurrentMap<String, Distribution> latencies = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, Distribution> statements = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, Distribution> rows = new ConcurrentHashMap<>();
+
+	private final Distribution jwtParse = new Distribution(MAX_LATENCY_MICROS);
+
+	private final Distribution userLookup = new Distribution(MAX_LATENCY_MICROS);
+
+	public void recordRequest(String handler, long nanos, SqlCounter counter) {
+		this.latencies.computeIfAbsent(handler, name -> new Distribution(MAX_LATENCY_MICROS))
+				.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+		if (counter != null) {
+			this.statements.computeIfAbsent(handler, name -> new Distribution(MAX_STATEMENTS))
+					.record(counter.getStatements());
+			this.rows.computeIfAbsent(handler, name -> new Distribution(MAX_ROWS)).record(counter.getRows());
+		}
+	}
+
+	public void recordJwtParse(long nanos) {
+		this.jwtParse.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	public void recordUserLookup(long nanos) {
+		this.userLookup.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	/**
+	 * Request latency per handler, in microseconds.
+	 */
+	public Map<String, Distribution> getLatencies() {
+		return this.latencies;
+	}
+
+	public Map<String, Distribution> getStatements() {
+		return this.statements;
+	}
+
+	public Map<String, Distribution> getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * JWT verification time per authenticated request, in microseconds.
+	 */
+	public Distribution getJwtParse() {
+		return this.jwtParse;
+	}
+
+	/**
+	 * Caller lookup time per authenticated request, in microseconds.
+	 */
+	public Distribution getUserLookup() {
+		return this.userLookup;
+	}
+
+	public static class Distribution {
+
+		private final Recorder recorder;
+
+		private final long highestValue;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder sum = new LongAdder();
+
+		private Histogram interval;
+
+		Distribution(long highestValue) {
+			this.recorder = new Recorder(highestValue, 2);
+			this.highestValue = highestValue;
+		}
+
+		void record(long value) {
+			this.recorder.recordValue(Math.min(Math.max(value, 0), this.highestValue));
+			this.count.increment();
+			this.sum.add(value);
+		}
+
+		/**
+		 * Values at {@link RequestMetrics#QUANTILES} of the values recorded
+		 * since the previous call, {@code NaN} when there were none.
+		 */
+		public synchronized double[] quantiles() {
+			this.interval = this.recorder.getIntervalHistogram(this.interval);
+			double[] values = new double[QUANTILES.length];
+			for (int i = 0; i < QUANTILES.length; i++) {
+				values[i] = this.interval.getTotalCount() == 0 ? Double.NaN
+						: this.interval.getValueAtPercentile(QUANTILES[i] * 100);
+			}
+			return values;
+		}
+
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		public long getSum() {
+			return this.sum.sum();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the hits, misses, puts and size of every Hibernate second-level
+ * cache region as actuator metrics under {@code hibernate.cache.<region>.},
+ * to size the regions of {@code ehcache-hibernate.xml}. The numbers come from
+ * the Hibernate statistics ({@code hibernate.generate_statistics}).
+ */
+@Component
+public class SecondLevelCacheMonitor implements PublicMetrics {
+
+	private static final String PREFIX = "hibernate.cache.";
+
+	private final Statistics statistics;
+
+	@Autowired
+	public SecondLevelCacheMonitor(EntityManagerFactory entityManagerFactory) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Collection<Metric<?>> metrics = new ArrayList<>();
+		if (!this.statistics.isStatisticsEnabled()) {
+			return metrics;
+		}
+		for (String name : this.statistics.getSecondLevelCacheRegionNames()) {
+			SecondLevelCacheStatistics region = this.statistics.getSecondLevelCacheStatistics(name);
+			if (region == null) {
+				continue;
+			}
+			String prefix = PREFIX + regionName(name) + ".";
+			metrics.add(new Metric<Long>(prefix + "hits", region.getHitCount()));
+			metrics.add(new Metric<Long>(prefix + "misses", region.getMissCount()));
+			metrics.add(new Metric<Long>(prefix + "puts", region.getPutCount()));
+			metrics.add(new Metric<Long>(prefix + "size", region.getElementCountInMemory()));
+		}
+		return metrics;
+	}
+
+	/**
+	 * Entity regions by their entity name, the query and timestamp regions by
+	 * the last part of their class name.
+	 */
+	private static String regionName(String cacheName) {
+		return cacheName.substring(cacheName.lastIndexOf('.') + 1);
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.helpdesk.service.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.apache.tomcat.jdbc.pool.interceptor.AbstractCreateStatementInterceptor;
+
+/**
+ * Connection pool interceptor counting, into the {@link SqlCounter} of the
+ * current request, the statements executed and the rows read from their
+ * result sets. Statements created outside a request are returned untouched,
+ * so background work pays nothing. Listed in
+ * {@code spring.datasource.tomcat.jdbc-interceptors}.
+ */
+public class SqlCountInterceptor extends AbstractCreateStatementInterceptor {
+
+	@Override
+	public Object createStatement(Object proxy, Method method, Object[] args, Object statement, long time) {
+		SqlCounter counter = SqlCounter.current();
+		if (counter == null) {
+			return statement;
+		}
+		Class<?> type;
+		if (PREPARE_CALL.equals(method.getName())) {
+			type = CallableStatement.class;
+		} else if (PREPARE_STATEMENT.equals(method.getName())) {
+			type = PreparedStatement.class;
+		} else {
+			type = Statement.class;
+		}
+		return wrap(type, new CountingStatement(statement, counter));
+	}
+
+	@Override
+	public void closeInvoked() {
+	}
+
+	@Override
+	public void reset(ConnectionPool parent, PooledConnection con) {
+	}
+
+	private static Object wrap(Class<?> type, InvocationHandler handler) {
+		return Proxy.newProxyInstance(SqlCountInterceptor.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	private static class CountingStatement implements InvocationHandler {
+
+		private final Object statement;
+
+		private final SqlCounter counter;
+
+		CountingStatement(Object statement, SqlCounter counter) {
+			this.statement = statement;
+			this.counter = counter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(this.statement, method, args);
+			if (method.getName().startsWith("execute")) {
+				this.counter.statementExecuted();
+			}
+			if (result instanceof ResultSet) {
+				return wrap(ResultSet.class, new CountingResultSet(result, this.counter));
+			}
+			return result;
+		}
+	}
+
+	private static class CountingResultSet implements InvocationHandler {
+
+		private final Object resultSet;
+
+		private final SqlCounter counter;
+
+		CountingResultSet(Object resultSet, SqlCounter counter) {
+			this.resultSet = resultSet;
+			this.counter = counter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(this.resultSet, method, args);
+			if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+				this.counter.rowFetched();
+			}
+			return result;
+		}
+	}
+}
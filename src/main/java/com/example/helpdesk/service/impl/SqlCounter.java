@@ -0,0 +1,56 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC statements executed and rows fetched on behalf of one request. The
+ * counter is bound to the thread serving the request, and to the executor
+ * thread running its work, so {@link SqlCountInterceptor} only counts the
+ * statements of a request.
+ */
+public final class SqlCounter {
+
+	private static final ThreadLocal<SqlCounter> CURRENT = new ThreadLocal<>();
+
+	private final LongAdder statements = new LongAdder();
+
+	private final LongAdder rows = new LongAdder();
+
+	public static SqlCounter current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds the counter to the current thread and returns the one it
+	 * replaces, to be restored with {@link #restore(SqlCounter)}.
+	 */
+	public static SqlCounter bind(SqlCounter counter) {
+		SqlCounter previous = CURRENT.get();
+		CURRENT.set(counter);
+		return previous;
+	}
+
+	public static void restore(SqlCounter previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	void statementExecuted() {
+		this.statements.increment();
+	}
+
+	void rowFetched() {
+		this.rows.increment();
+	}
+
+	public long getStatements() {
+		return this.statements.sum();
+	}
+
+	public long getRows() {
+		return this.rows.sum();
+	}
+}
@@ -0,0 +1,255 @@
+package com.example.helpdesk.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+import com.example.helpdesk.repository.ChangeStatusRepository;
+import com.example.helpdesk.repository.TicketRepository;
+
+/**
+ * Workload of every technician kept in memory, so the stats never scan the
+ * status history: the open tickets per priority, and per day and priority
+ * the first assignments and the closes with the days they took since the
+ * ticket was opened. It follows the {@link TicketEvent}s of every instance,
+ * its own once they commit and the others' as {@link TicketEventRelay}
+ * relays them; everything is rebuilt from the database when the application
+ * starts and periodically, and swapped in at once, like
+ * {@link TicketStatusCounter}.
+ */
+@Component
+public class TechnicianWorkload {
+
+	private static final Comparator<Key> KEY_ORDER = Comparator
+			.comparing((Key key) -> key.day, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(key -> key.technicianId, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(key -> key.priority, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+	private static final int ASSIGNED = 0;
+
+	private static final int DAYS_TO_ASSIGN = 1;
+
+	private static final int CLOSED = 2;
+
+	private static final int DAYS_TO_CLOSE = 3;
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private volatile Buckets buckets = new Buckets();
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private ChangeStatusRepository changeStatusRepository;
+
+	/**
+	 * Takes the events of this instance once they commit; those of the other
+	 * instances come through {@link TicketEventRelay}.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void committed(TicketEvent event) {
+		record(event, LocalDate.now());
+	}
+
+	/**
+	 * Reports a committed change of a ticket made on the given day.
+	 */
+	public void record(TicketEvent event, LocalDate day) {
+		Buckets buckets = this.buckets;
+		Long assigneeId = event.getAssignedUserId();
+		StatusEnum status = event.getStatus();
+		if (event.getType() == TicketEventTypeEnum.DELETED) {
+			if (isOpen(status, assigneeId)) {
+				buckets.open(assigneeId, event.getPriority()).decrement();
+			}
+			return;
+		}
+		StatusEnum previousStatus = event.getPreviousStatus();
+		Long previousAssigneeId = event.getPreviousAssignedUserId();
+		if (isOpen(previousStatus, previousAssigneeId)) {
+			buckets.open(previousAssigneeId, event.getPriority()).decrement();
+		}
+		if (isOpen(status, assigneeId)) {
+			buckets.open(assigneeId, event.getPriority()).increment();
+		}
+		if (assigneeId == null) {
+			return;
+		}
+		long days = daysBetween(event.getDate(), day);
+		if (previousStatus == StatusEnum.New && status == StatusEnum.Assigned) {
+			buckets.add(new Key(day, assigneeId, event.getPriority()), ASSIGNED, DAYS_TO_ASSIGN, 1, days);
+		}
+		if (previousStatus != StatusEnum.Closed && status == StatusEnum.Closed) {
+			buckets.add(new Key(day, assigneeId, event.getPriority()), CLOSED, DAYS_TO_CLOSE, 1, days);
+		}
+	}
+
+	/**
+	 * Workload of every technician, or of only one when the id is given, with
+	 * the assignments and closes made between both days inclusive.
+	 */
+	public List<TechnicianStats> snapshot(LocalDate from, LocalDate to, Long technicianId) {
+		Buckets buckets = this.buckets;
+		Map<Long, TechnicianStats> statsByTechnician = new LinkedHashMap<>();
+		buckets.open.forEach((key, amount) -> {
+			long sum = amount.sum();
+			if (sum != 0 && (technicianId == null || technicianId.equals(key.technicianId))) {
+				stats(statsByTechnician, key.technicianId).open(key.priority, sum);
+			}
+		});
+		Map<Key, LongAdder[]> range = buckets.daily.subMap(new Key(from, null, null), true,
+				new Key(to.plusDays(1), null, null), false);
+		range.forEach((key, counters) -> {
+			long assigned = counters[ASSIGNED].sum();
+			long closed = counters[CLOSED].sum();
+			if ((assigned != 0 || closed != 0) && (technicianId == null || technicianId.equals(key.technicianId))) {
+				stats(statsByTechnician, key.technicianId).day(key.day, key.priority, assigned,
+						counters[DAYS_TO_ASSIGN].sum(), closed, counters[DAYS_TO_CLOSE].sum());
+			}
+		});
+		return new ArrayList<>(statsByTechnician.values());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${ticket.stats.reconcile-interval}", initialDelayString = "${ticket.stats.reconcile-interval}")
+	public void rebuild() {
+		Buckets rebuilt = new Buckets();
+		for (Object[] row : this.ticketRepository.countOpenGroupByAssignedUserIdAndPriority(StatusEnum.Closed)) {
+			rebuilt.open((Long) row[0], (PriorityEnum) row[1]).add((Long) row[2]);
+		}
+
+		Map<Key, long[]> daily = new HashMap<>();
+		addRows(daily, this.changeStatusRepository.countFirstGroupByUserChangeIdAndDay(StatusEnum.Assigned),
+				ASSIGNED, DAYS_TO_ASSIGN);
+		addRows(daily, this.changeStatusRepository.countGroupByAssignedUserIdAndDay(StatusEnum.Closed),
+				CLOSED, DAYS_TO_CLOSE);
+		daily.forEach((key, totals) -> {
+			LongAdder[] counters = rebuilt.counters(key);
+			for (int i = 0; i < counters.length; i++) {
+				counters[i].add(totals[i]);
+			}
+		});
+		this.buckets = rebuilt;
+		logger.debug("technician workload rebuilt: " + rebuilt.open.size() + " open and " + rebuilt.daily.size()
+				+ " daily buckets");
+	}
+
+	/**
+	 * Adds the {@code [technician id, day, PriorityEnum, opened day, Long]}
+	 * rows of the history queries of {@link ChangeStatusRepository}.
+	 */
+	private static void addRows(Map<Key, long[]> expected, List<Object[]> rows, int count, int days) {
+		for (Object[] row : rows) {
+			if (row[0] == null || row[1] == null) {
+				continue;
+			}
+			LocalDate day = (LocalDate) row[1];
+			long amount = (Long) row[4];
+			long[] totals = expected.computeIfAbsent(new Key(day, (Long) row[0], (PriorityEnum) row[2]),
+					key -> new long[4]);
+			totals[count] += amount;
+			totals[days] += amount * daysBetween((LocalDate) row[3], day);
+		}
+	}
+
+	private static TechnicianStats stats(Map<Long, TechnicianStats> statsByTechnician, Long technicianId) {
+		return statsByTechnician.computeIfAbsent(technicianId, TechnicianStats::new);
+	}
+
+	private static boolean isOpen(StatusEnum status, Long assigneeId) {
+		return assigneeId != null && status != null && status != StatusEnum.Closed;
+	}
+
+	/**
+	 * Whole days from the opening of the ticket to the change, never negative;
+	 * tickets without an opening day count as changed the day they opened.
+	 */
+	static long daysBetween(LocalDate opened, LocalDate day) {
+		return opened == null ? 0 : Math.max(0, ChronoUnit.DAYS.between(opened, day));
+	}
+
+	/**
+	 * Counters replaced as a whole by {@link #rebuild()}.
+	 */
+	private static final class Buckets {
+
+		/**
+		 * Open tickets per technician and priority, keyed without a day.
+		 */
+		private final ConcurrentNavigableMap<Key, LongAdder> open = new ConcurrentSkipListMap<>(KEY_ORDER);
+
+		/**
+		 * Assignments and closes per day, technician and priority, ordered by
+		 * day so a date range is one sub map.
+		 */
+		private final ConcurrentNavigableMap<Key, LongAdder[]> daily = new ConcurrentSkipListMap<>(KEY_ORDER);
+
+		LongAdder open(Long technicianId, PriorityEnum priority) {
+			return this.open.computeIfAbsent(new Key(null, technicianId, priority), key -> new LongAdder());
+		}
+
+		LongAdder[] counters(Key key) {
+			return this.daily.computeIfAbsent(key,
+					k -> new LongAdder[] { new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder() });
+		}
+
+		void add(Key key, int count, int days, long amount, long daysAmount) {
+			LongAdder[] counters = counters(key);
+			counters[count].add(amount);
+			counters[days].add(daysAmount);
+		}
+	}
+
+	private static final class Key {
+
+		private final LocalDate day;
+
+		private final Long technicianId;
+
+		private final PriorityEnum priority;
+
+		Key(LocalDate day, Long technicianId, PriorityEnum priority) {
+			this.day = day;
+			this.technicianId = technicianId;
+			this.priority = priority;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = day == null ? 0 : day.hashCode();
+			result = 31 * result + (technicianId == null ? 0 : technicianId.hashCode());
+			return 31 * result + (priority == null ? 0 : priority.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			return KEY_ORDER.compare(this, (Key) obj) == 0;
+		}
+	}
+}
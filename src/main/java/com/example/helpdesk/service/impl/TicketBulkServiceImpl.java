@@ -0,0 +1,231 @@
+package com.example.helpdesk.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.helpdesk.dto.BulkTransitionResult;
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.entity.ChangeStatus;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+import com.example.helpdesk.service.TicketBulkService;
+import com.example.helpdesk.service.TicketWorkflow;
+
+/**
+ * Selects and locks the tickets in one query, checks every one against the
+ * {@link TicketWorkflow} in memory, then changes the accepted ones with a
+ * single UPDATE and writes their history rows in JDBC batches, all in one
+ * transaction. The UPDATE bumps the ticket versions, so a concurrent
+ * single-ticket transition retries on the new state.
+ */
+@Service
+public class TicketBulkServiceImpl implements TicketBulkService {
+
+	private static final Sort ID_ORDER = new Sort(Direction.ASC, "id");
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	@Autowired
+	private TicketWorkflow ticketWorkflow;
+
+	@Autowired
+	private TicketStatusCounter ticketStatusCounter;
+
+	@Autowired
+	private TicketSearchIndex ticketSearchIndex;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${ticket.bulk.max-tickets}")
+	private int maxTickets;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+	private int batchSize;
+
+	@Autowired
+	public TicketBulkServiceImpl(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public BulkTransitionResult transition(Collection<Long> ids, TicketFilter filter, StatusEnum targetStatus,
+			User actor) {
+		if (ids != null && ids.isEmpty()) {
+			return new BulkTransitionResult();
+		}
+		return this.transactionTemplate.execute(status -> doTransition(ids, filter, targetStatus, actor));
+	}
+
+	private BulkTransitionResult doTransition(Collection<Long> ids, TicketFilter filter, StatusEnum targetStatus,
+			User actor) {
+		BulkTransitionResult result = new BulkTransitionResult();
+		List<Ticket> tickets = lock(ids, filter);
+		List<Ticket> accepted = new ArrayList<>(tickets.size());
+		for (Ticket ticket : tickets) {
+			String rejection = this.ticketWorkflow.reject(ticket.getStatus(), targetStatus, actor.getProfile());
+			if (rejection == null) {
+				accepted.add(ticket);
+			} else {
+				result.reject(ticket.getId(), ticket.getNumber(), ticket.getStatus(), rejection);
+			}
+		}
+		if (ids != null) {
+			Set<Long> found = new HashSet<>();
+			tickets.forEach(ticket -> found.add(ticket.getId()));
+			for (Long id : new HashSet<>(ids)) {
+				if (!found.contains(id)) {
+					result.reject(id, null, null, "Register not found id: " + id);
+				}
+			}
+		}
+		if (accepted.isEmpty()) {
+			return result;
+		}
+		boolean assign = targetStatus == StatusEnum.Assigned;
+		LocalDate today = LocalDate.now();
+		update(accepted, targetStatus, assign ? actor : null);
+		insertHistory(accepted, targetStatus, actor, today);
+		List<Long> userIds = new ArrayList<>(accepted.size());
+		List<Long> previousAssigneeIds = new ArrayList<>(accepted.size());
+		for (Ticket ticket : accepted) {
+			userIds.add(id(ticket.getUser()));
+			previousAssigneeIds.add(id(ticket.getAssignedUser()));
+		}
+		this.manager.clear();
+
+		List<StatusEnum> previousStatuses = new ArrayList<>(accepted.size());
+		for (int i = 0; i < accepted.size(); i++) {
+			Ticket ticket = accepted.get(i);
+			StatusEnum previousStatus = ticket.getStatus();
+			previousStatuses.add(previousStatus);
+			ticket.setStatus(targetStatus);
+			ticket.setVersion(ticket.getVersion() + 1);
+			ticket.setUser(reference(userIds.get(i)));
+			ticket.setAssignedUser(assign ? actor : reference(previousAssigneeIds.get(i)));
+			result.changed(ticket.getId(), ticket.getNumber(), previousStatus, targetStatus);
+			this.eventPublisher.publishEvent(new TicketEvent(
+					previousStatus == targetStatus ? TicketEventTypeEnum.UPDATED : TicketEventTypeEnum.STATUS_CHANGED,
+					ticket, previousStatus, previousAssigneeIds.get(i)));
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				for (int i = 0; i < accepted.size(); i++) {
+					ticketStatusCounter.move(previousStatuses.get(i), targetStatus);
+				}
+				if (assign) {
+					ticketSearchIndex.index(accepted);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * The matching tickets, locked for the rest of the transaction and in id
+	 * order, so two bulk changes over the same tickets cannot deadlock.
+	 */
+	private List<Ticket> lock(Collection<Long> ids, TicketFilter filter) {
+		TicketQueryBuilder builder = new TicketQueryBuilder(filter == null ? new TicketFilter() : filter);
+		if (ids != null) {
+			builder.and("t.id IN :ids", "ids", ids);
+		}
+		TypedQuery<Ticket> query = builder.select(this.manager, "SELECT t FROM Ticket t", ID_ORDER, Ticket.class);
+		query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+		query.setMaxResults(this.maxTickets + 1);
+		List<Ticket> tickets = query.getResultList();
+		if (tickets.size() > this.maxTickets) {
+			throw new IllegalArgumentException(
+					"More than " + this.maxTickets + " tickets match, change them in smaller groups");
+		}
+		return tickets;
+	}
+
+	private void update(List<Ticket> tickets, StatusEnum targetStatus, User assignedUser) {
+		List<Long> ids = new ArrayList<>(tickets.size());
+		tickets.forEach(ticket -> ids.add(ticket.getId()));
+		Query update = this.manager.createQuery("UPDATE Ticket t SET t.status = :status, t.version = t.version + 1, t.lastModified = :now"
+				+ (assignedUser == null ? "" : ", t.assignedUser = :assignedUser") + " WHERE t.id IN :ids");
+		update.setParameter("status", targetStatus);
+		update.setParameter("now", LocalDateTime.now());
+		update.setParameter("ids", ids);
+		if (assignedUser != null) {
+			update.setParameter("assignedUser", this.manager.getReference(User.class, assignedUser.getId()));
+		}
+		update.executeUpdate();
+	}
+
+	/**
+	 * Id of the owner or assignee of a locked ticket, read from the lazy proxy
+	 * without loading the user.
+	 */
+	private static Long id(User user) {
+		if (user instanceof HibernateProxy) {
+			return (Long) ((HibernateProxy) user).getHibernateLazyInitializer().getIdentifier();
+		}
+		return user == null ? null : user.getId();
+	}
+
+	/**
+	 * Detached user holding only the id, standing in for a proxy of the
+	 * cleared persistence context, which can no longer be loaded.
+	 */
+	private static User reference(Long id) {
+		if (id == null) {
+			return null;
+		}
+		User user = new User();
+		user.setId(id);
+		return user;
+	}
+
+	/**
+	 * Status change ids come from a pooled sequence, so Hibernate sends the
+	 * inserts in batches of {@code hibernate.jdbc.batch_size}.
+	 */
+	private void insertHistory(List<Ticket> tickets, StatusEnum targetStatus, User actor, LocalDate today) {
+		User actorReference = this.manager.getReference(User.class, actor.getId());
+		for (int i = 0; i < tickets.size(); i++) {
+			ChangeStatus changeStatus = new ChangeStatus();
+			changeStatus.setTicket(tickets.get(i));
+			changeStatus.setUserChange(actorReference);
+			changeStatus.setDateChangeStatus(today);
+			changeStatus.setStatus(targetStatus);
+			this.manager.persist(changeStatus);
+			if ((i + 1) % this.batchSize == 0) {
+				this.manager.flush();
+			}
+		}
+		this.manager.flush();
+	}
+}
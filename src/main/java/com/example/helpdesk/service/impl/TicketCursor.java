@@ -0,0 +1,54 @@
+package com.example.helpdesk.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.example.helpdesk.dto.TicketSummaryView;
+
+/**
+ * Position of the last ticket of a keyset page, in the {@code date DESC
+ * NULLS LAST, id DESC} order of the listings, encoded as an opaque URL-safe
+ * token. Tickets without a date leave the date out of the token.
+ */
+class TicketCursor {
+
+	private final LocalDate date;
+
+	private final Long id;
+
+	TicketCursor(LocalDate date, Long id) {
+		this.date = date;
+		this.id = id;
+	}
+
+	static TicketCursor of(TicketSummaryView ticket) {
+		return new TicketCursor(ticket.getDate(), ticket.getId());
+	}
+
+	LocalDate getDate() {
+		return date;
+	}
+
+	Long getId() {
+		return id;
+	}
+
+	String encode() {
+		String position = (this.date == null ? "" : String.valueOf(this.date.toEpochDay())) + ":" + this.id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	static TicketCursor decode(String token) {
+		try {
+			String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+			int separator = position.indexOf(':');
+			LocalDate date = separator == 0 ? null
+					: LocalDate.ofEpochDay(Long.parseLong(position.substring(0, separator)));
+			Long id = Long.valueOf(position.substring(separator + 1));
+			return new TicketCursor(date, id);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + token);
+		}
+	}
+}
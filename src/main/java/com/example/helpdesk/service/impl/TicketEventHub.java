@@ -0,0 +1,205 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.enums.StatusEnum;
+
+/**
+ * Pushes the committed {@link TicketEvent}s to the subscribers of the event
+ * feed as server-sent events: the events of this instance once they commit,
+ * and those of the other instances as {@link TicketEventRelay} reads them.
+ * An idle subscriber is an open async response
+ * and a small queue, no thread: events are queued per subscriber and written
+ * by a small pool of sender threads. A subscriber that falls more than
+ * {@code ticket.events.queue-capacity} events behind gets its queue dropped
+ * and a single {@code resync} event, telling it to reload the listings.
+ */
+@Component
+public class TicketEventHub {
+
+	private static final Object HEARTBEAT = new Object();
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private final ThreadPoolTaskExecutor senders = new ThreadPoolTaskExecutor();
+
+	@Value("${ticket.events.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${ticket.events.max-subscribers}")
+	private int maxSubscribers;
+
+	@Value("${ticket.events.timeout}")
+	private long timeout;
+
+	@Value("${ticket.events.heartbeat-interval}")
+	private long heartbeatInterval;
+
+	public TicketEventHub(@Value("${ticket.events.senders}") int senders) {
+		this.senders.setCorePoolSize(senders);
+		this.senders.setMaxPoolSize(senders);
+		this.senders.setThreadNamePrefix("ticket-events-");
+		this.senders.setDaemon(true);
+		this.senders.initialize();
+	}
+
+	/**
+	 * Opens a feed of the events matching the filters; a null filter matches
+	 * everything. Fails with {@link IllegalStateException} when the hub is
+	 * full.
+	 */
+	public SseEmitter subscribe(Long userId, Long assignedUserId, Set<StatusEnum> statuses) {
+		if (this.subscribers.size() >= this.maxSubscribers) {
+			throw new IllegalStateException("Too many subscribers");
+		}
+		SseEmitter emitter = new SseEmitter(this.timeout);
+		Subscriber subscriber = new Subscriber(emitter, userId, assignedUserId, statuses);
+		emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+		emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+		this.subscribers.add(subscriber);
+		return emitter;
+	}
+
+	public int getSubscribers() {
+		return this.subscribers.size();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void publish(TicketEvent event) {
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.accepts(event)) {
+				subscriber.offer(event);
+			}
+		}
+	}
+
+	/**
+	 * Keeps idle connections open through proxies and detects the clients
+	 * that went away.
+	 */
+	@Scheduled(fixedDelayString = "${ticket.events.heartbeat-interval}")
+	public void heartbeat() {
+		long idleSince = System.currentTimeMillis() - this.heartbeatInterval;
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.lastSent <= idleSince) {
+				subscriber.offer(HEARTBEAT);
+			}
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		for (Subscriber subscriber : this.subscribers) {
+			subscriber.emitter.complete();
+		}
+		this.subscribers.clear();
+		this.senders.shutdown();
+	}
+
+	private final class Subscriber implements Runnable {
+
+		private final SseEmitter emitter;
+
+		private final Long userId;
+
+		private final Long assignedUserId;
+
+		private final Set<StatusEnum> statuses;
+
+		private final BlockingQueue<Object> queue;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private volatile boolean overflowed;
+
+		private volatile long lastSent = System.currentTimeMillis();
+
+		Subscriber(SseEmitter emitter, Long userId, Long assignedUserId, Set<StatusEnum> statuses) {
+			this.emitter = emitter;
+			this.userId = userId;
+			this.assignedUserId = assignedUserId;
+			this.statuses = statuses == null ? Collections.emptySet() : statuses;
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		}
+
+		boolean accepts(TicketEvent event) {
+			if (this.userId != null && !this.userId.equals(event.getUserId())) {
+				return false;
+			}
+			if (this.assignedUserId != null && !this.assignedUserId.equals(event.getAssignedUserId())) {
+				return false;
+			}
+			return this.statuses.isEmpty() || this.statuses.contains(event.getStatus())
+					|| this.statuses.contains(event.getPreviousStatus());
+		}
+
+		void offer(Object message) {
+			if (!this.queue.offer(message)) {
+				this.overflowed = true;
+				this.queue.clear();
+			}
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					senders.execute(this);
+				} catch (TaskRejectedException e) {
+					this.scheduled.set(false);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				do {
+					if (this.overflowed) {
+						this.overflowed = false;
+						this.queue.clear();
+						this.emitter.send(SseEmitter.event().name("resync").data(""));
+					}
+					Object message;
+					while ((message = this.queue.poll()) != null) {
+						send(message);
+					}
+					this.scheduled.set(false);
+				} while ((!this.queue.isEmpty() || this.overflowed) && this.scheduled.compareAndSet(false, true));
+			} catch (IOException | IllegalStateException e) {
+				logger.debug("ticket event subscriber gone: " + e.getMessage());
+				subscribers.remove(this);
+				this.emitter.complete();
+			}
+		}
+
+		private void send(Object message) throws IOException {
+			if (message == HEARTBEAT) {
+				this.emitter.send(SseEmitter.event().comment("heartbeat"));
+			} else {
+				TicketEvent event = (TicketEvent) message;
+				this.emitter.send(SseEmitter.event().name(event.getType().name()).data(event,
+						MediaType.APPLICATION_JSON));
+			}
+			this.lastSent = System.currentTimeMillis();
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.helpdesk.service.impl;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+
+/**
+ * Carries the {@link TicketEvent}s between the instances through the
+ * {@code ticket_event} table. Every event is written in the transaction of
+ * the change, and every instance reads the rows written by the others every
+ * {@code ticket.events.relay-interval} and hands them to its
+ * {@link TicketEventHub} and its {@link TechnicianWorkload}; the events of
+ * the instance itself reach them straight away. Each read goes {@code ticket.events.relay-overlap} back, so
+ * a transaction that commits after a newer one is not skipped, and the rows
+ * already relayed are recognized by id.
+ */
+@Component
+public class TicketEventRelay {
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final String origin = UUID.randomUUID().toString();
+
+	/**
+	 * Ids of the rows relayed within the overlap, with their creation time.
+	 */
+	private final Map<Long, LocalDateTime> relayed = new HashMap<>();
+
+	private LocalDateTime relayedUpTo = LocalDateTime.now();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TicketEventHub ticketEventHub;
+
+	@Autowired
+	private TechnicianWorkload technicianWorkload;
+
+	@Value("${ticket.events.relay-overlap}")
+	private long relayOverlap;
+
+	@Value("${ticket.events.retention}")
+	private long retention;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void store(TicketEvent event) {
+		this.jdbcTemplate.update("insert into ticket_event (origin, created, type, ticket_id, number, title, status, "
+				+ "previous_status, priority, user_id, assigned_user_id, previous_assigned_user_id, date) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+				this.origin, Timestamp.valueOf(LocalDateTime.now()), event.getType().name(), event.getTicketId(),
+				event.getNumber(), event.getTitle(), name(event.getStatus()), name(event.getPreviousStatus()),
+				name(event.getPriority()), event.getUserId(), event.getAssignedUserId(),
+				event.getPreviousAssignedUserId(), event.getDate() == null ? null : Date.valueOf(event.getDate()));
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.events.relay-interval}", initialDelayString = "${ticket.events.relay-interval}")
+	public void poll() {
+		relay();
+	}
+
+	/**
+	 * Hands the events written by the other instances since the last call to
+	 * the hub, and returns how many.
+	 */
+	public synchronized int relay() {
+		LocalDateTime start = LocalDateTime.now();
+		LocalDateTime since = this.relayedUpTo.minusNanos(this.relayOverlap * 1_000_000);
+		List<Row> rows = this.jdbcTemplate.query(
+				"select * from ticket_event where created >= ? and origin <> ? order by id",
+				(result, rowNum) -> new Row(result), Timestamp.valueOf(since), this.origin);
+		int amount = 0;
+		for (Row row : rows) {
+			if (this.relayed.putIfAbsent(row.id, row.created) == null) {
+				this.technicianWorkload.record(row.event, row.created.toLocalDate());
+				this.ticketEventHub.publish(row.event);
+				amount++;
+			}
+		}
+		this.relayed.values().removeIf(created -> created.isBefore(since));
+		this.relayedUpTo = start;
+		return amount;
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.events.retention}", initialDelayString = "${ticket.events.retention}")
+	public void purge() {
+		int deleted = this.jdbcTemplate.update("delete from ticket_event where created < ?",
+				Timestamp.valueOf(LocalDateTime.now().minusNanos(this.retention * 1_000_000)));
+		logger.debug(deleted + " relayed ticket events purged");
+	}
+
+	private static String name(Enum<?> value) {
+		return value == null ? null : value.name();
+	}
+
+	private static final class Row {
+
+		private final Long id;
+
+		private final LocalDateTime created;
+
+		private final TicketEvent event = new TicketEvent();
+
+		Row(ResultSet result) throws SQLException {
+			this.id = result.getLong("id");
+			this.created = result.getTimestamp("created").toLocalDateTime();
+			this.event.setType(TicketEventTypeEnum.valueOf(result.getString("type")));
+			this.event.setTicketId(getLong(result, "ticket_id"));
+			this.event.setNumber(getLong(result, "number"));
+			this.event.setTitle(result.getString("title"));
+			String status = result.getString("status");
+			this.event.setStatus(status == null ? null : StatusEnum.valueOf(status));
+			String previousStatus = result.getString("previous_status");
+			this.event.setPreviousStatus(previousStatus == null ? null : StatusEnum.valueOf(previousStatus));
+			String priority = result.getString("priority");
+			this.event.setPriority(priority == null ? null : PriorityEnum.valueOf(priority));
+			this.event.setUserId(getLong(result, "user_id"));
+			this.event.setAssignedUserId(getLong(result, "assigned_user_id"));
+			this.event.setPreviousAssignedUserId(getLong(result, "previous_assigned_user_id"));
+			Date date = result.getDate("date");
+			this.event.setDate(date == null ? null : date.toLocalDate());
+		}
+
+		private static Long getLong(ResultSet result, String column) throws SQLException {
+			long value = result.getLong(column);
+			return result.wasNull() ? null : value;
+		}
+	}
+}
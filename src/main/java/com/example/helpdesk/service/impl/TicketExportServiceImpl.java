@@ -0,0 +1,106 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.helpdesk.dto.TicketExportView;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.enums.DataFormatEnum;
+import com.example.helpdesk.service.TicketExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Writes the tickets matching a filter straight to an output stream. Rows
+ * are read through a forward-only Hibernate cursor with a JDBC fetch size of
+ * {@code ticket.export.fetch-size} and written one at a time, so memory use
+ * does not depend on the amount of tickets.
+ */
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	private final ObjectWriter jsonWriter;
+
+	private final ObjectWriter csvWriter;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${ticket.export.fetch-size}")
+	private int fetchSize;
+
+	@Autowired
+	public TicketExportServiceImpl(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+		this.jsonWriter = objectMapper.writerFor(TicketExportView.class).withRootValueSeparator("\n")
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		CsvMapper csvMapper = new CsvMapper();
+		csvMapper.registerModule(new JavaTimeModule());
+		csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		this.csvWriter = csvMapper.writer(csvMapper.schemaFor(TicketExportView.class).withHeader())
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	@Override
+	public long exportTickets(TicketFilter filter, DataFormatEnum format, OutputStream out) throws IOException {
+		TicketQueryBuilder builder = new TicketQueryBuilder(filter);
+		SequenceWriter writer = (format == DataFormatEnum.CSV ? this.csvWriter : this.jsonWriter).writeValues(out);
+		long amount;
+		try {
+			amount = this.transactionTemplate.execute(status -> {
+				Query query = builder.select(this.manager, TicketQueryBuilder.EXPORT_VIEW_SELECT,
+						TicketQueryBuilder.DEFAULT_SORT, TicketExportView.class).unwrap(Query.class);
+				query.setFetchSize(this.fetchSize);
+				query.setReadOnly(true);
+				query.setCacheMode(CacheMode.IGNORE);
+				ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY);
+				try {
+					long written = 0;
+					while (rows.next()) {
+						writer.write(rows.get(0));
+						if (++written % this.fetchSize == 0) {
+							writer.flush();
+						}
+					}
+					return written;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				} finally {
+					rows.close();
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.close();
+		if (format == DataFormatEnum.NDJSON && amount > 0) {
+			out.write('\n');
+		}
+		out.flush();
+		return amount;
+	}
+}
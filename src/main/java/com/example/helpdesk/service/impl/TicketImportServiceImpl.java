@@ -0,0 +1,262 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.helpdesk.dto.ImportResult;
+import com.example.helpdesk.dto.TicketImportRow;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.DataFormatEnum;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.service.TicketImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Streams the body one row at a time, so memory stays bounded by the chunk
+ * size whatever the size of the load. Valid rows are persisted in chunks of
+ * {@code ticket.import.chunk-size}, each in its own transaction and flushed
+ * every JDBC batch; ticket ids come from the pooled {@code ticket_id_seq}, so
+ * Hibernate can batch the inserts. When a chunk fails, its rows are retried
+ * one by one to find and report the bad ones.
+ */
+@Service
+public class TicketImportServiceImpl implements TicketImportService {
+
+	private static final int MAX_TEXT_LENGTH = 255;
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	@Autowired
+	private TicketNumberAllocator ticketNumberAllocator;
+
+	@Autowired
+	private TicketStatusCounter ticketStatusCounter;
+
+	@Autowired
+	private TicketSearchIndex ticketSearchIndex;
+
+	private final ObjectReader jsonReader;
+
+	private final ObjectReader csvReader;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${ticket.import.chunk-size}")
+	private int chunkSize;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+	private int batchSize;
+
+	@Autowired
+	public TicketImportServiceImpl(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+		this.jsonReader = objectMapper.readerFor(TicketImportRow.class)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		this.csvReader = new CsvMapper().readerFor(TicketImportRow.class)
+				.with(CsvSchema.emptySchema().withHeader()).with(CsvParser.Feature.TRIM_SPACES)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public ImportResult importTickets(Reader content, DataFormatEnum format, User owner) throws IOException {
+		ImportResult result = new ImportResult();
+		List<Row> chunk = new ArrayList<>(this.chunkSize);
+		if (format == DataFormatEnum.CSV) {
+			readCsv(content, owner, chunk, result);
+		} else {
+			readLines(content, owner, chunk, result);
+		}
+		if (!chunk.isEmpty()) {
+			save(chunk, result);
+		}
+		return result;
+	}
+
+	private void readLines(Reader content, User owner, List<Row> chunk, ImportResult result) throws IOException {
+		BufferedReader lines = new BufferedReader(content);
+		long lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			try {
+				add(chunk, new Row(lineNumber, toTicket(this.jsonReader.readValue(line), owner)), result);
+			} catch (JsonProcessingException e) {
+				result.reject(lineNumber, e.getOriginalMessage());
+			} catch (IllegalArgumentException e) {
+				result.reject(lineNumber, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Reads the rows with the parser rather than line by line, so a quoted
+	 * field may span lines; each row is reported by the line it starts on,
+	 * which the parser counts from zero.
+	 */
+	private void readCsv(Reader content, User owner, List<Row> chunk, ImportResult result) throws IOException {
+		MappingIterator<TicketImportRow> rows = this.csvReader.readValues(content);
+		while (rows.hasNextValue()) {
+			long lineNumber = rows.getParser().getTokenLocation().getLineNr() + 1;
+			try {
+				TicketImportRow row = rows.nextValue();
+				if (!isEmpty(row)) {
+					add(chunk, new Row(lineNumber, toTicket(row, owner)), result);
+				}
+			} catch (JsonProcessingException e) {
+				result.reject(lineNumber, e.getOriginalMessage());
+			} catch (IllegalArgumentException e) {
+				result.reject(lineNumber, e.getMessage());
+			}
+		}
+	}
+
+	private void add(List<Row> chunk, Row row, ImportResult result) {
+		chunk.add(row);
+		if (chunk.size() == this.chunkSize) {
+			save(chunk, result);
+			chunk.clear();
+		}
+	}
+
+	/**
+	 * Applies the rules of the create endpoint to one row.
+	 */
+	private Ticket toTicket(TicketImportRow row, User owner) {
+		String title = blankToNull(row.getTitle());
+		if (title == null) {
+			throw new IllegalArgumentException("Title no information");
+		}
+		String description = blankToNull(row.getDescription());
+		if (title.length() > MAX_TEXT_LENGTH || (description != null && description.length() > MAX_TEXT_LENGTH)) {
+			throw new IllegalArgumentException(
+					"Title and description are limited to " + MAX_TEXT_LENGTH + " characters");
+		}
+		Ticket ticket = new Ticket();
+		ticket.setTitle(title);
+		ticket.setDescription(description);
+		String priority = blankToNull(row.getPriority());
+		if (priority != null) {
+			ticket.setPriority(valueOf(PriorityEnum.class, priority));
+		}
+		String status = blankToNull(row.getStatus());
+		if (status != null && valueOf(StatusEnum.class, status) != StatusEnum.New) {
+			throw new IllegalArgumentException("Imported tickets are New, not " + status);
+		}
+		ticket.setStatus(StatusEnum.New);
+		String date = blankToNull(row.getDate());
+		try {
+			ticket.setDate(date == null ? LocalDate.now() : LocalDate.parse(date));
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("Invalid date: " + date);
+		}
+		ticket.setUser(owner);
+		ticket.setNumber(this.ticketNumberAllocator.next());
+		return ticket;
+	}
+
+	private static <E extends Enum<E>> E valueOf(Class<E> type, String value) {
+		try {
+			return Enum.valueOf(type, value);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid " + type.getSimpleName().replace("Enum", "").toLowerCase()
+					+ ": " + value);
+		}
+	}
+
+	private static boolean isEmpty(TicketImportRow row) {
+		return blankToNull(row.getTitle()) == null && blankToNull(row.getDescription()) == null
+				&& blankToNull(row.getPriority()) == null && blankToNull(row.getStatus()) == null
+				&& blankToNull(row.getDate()) == null;
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.trim().isEmpty() ? null : value.trim();
+	}
+
+	private void save(List<Row> chunk, ImportResult result) {
+		try {
+			persist(chunk);
+			committed(chunk, result);
+		} catch (PersistenceException | DataAccessException | TransactionException e) {
+			for (Row row : chunk) {
+				row.ticket.setId(null);
+				row.ticket.setVersion(null);
+				try {
+					persist(Collections.singletonList(row));
+					committed(Collections.singletonList(row), result);
+				} catch (PersistenceException | DataAccessException | TransactionException rowError) {
+					result.reject(row.line, NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+				}
+			}
+		}
+	}
+
+	private void persist(List<Row> rows) {
+		this.transactionTemplate.execute(status -> {
+			for (int i = 0; i < rows.size(); i++) {
+				this.manager.persist(rows.get(i).ticket);
+				if ((i + 1) % this.batchSize == 0) {
+					this.manager.flush();
+					this.manager.clear();
+				}
+			}
+			this.manager.flush();
+			this.manager.clear();
+			return null;
+		});
+	}
+
+	private void committed(List<Row> rows, ImportResult result) {
+		List<Ticket> tickets = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			this.ticketStatusCounter.increment(row.ticket.getStatus());
+			tickets.add(row.ticket);
+		}
+		this.ticketSearchIndex.index(tickets);
+		result.imported(rows.size());
+	}
+
+	private static class Row {
+
+		private final long line;
+
+		private final Ticket ticket;
+
+		Row(long line, Ticket ticket) {
+			this.line = line;
+			this.ticket = ticket;
+		}
+	}
+}
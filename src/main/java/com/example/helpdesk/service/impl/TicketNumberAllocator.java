@@ -0,0 +1,84 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.helpdesk.entity.NumberSequence;
+import com.example.helpdesk.repository.NumberSequenceRepository;
+
+/**
+ * Hands out unique ticket numbers (hi/lo). Each instance reserves a block of
+ * numbers from the {@link NumberSequence} row, under a row lock, and serves
+ * it from an {@link AtomicLong}; only the thread that exhausts a block goes
+ * to the database for the next one. The row is created with the schema (V1).
+ */
+@Component
+public class TicketNumberAllocator {
+
+	static final String SEQUENCE_NAME = "ticket_number";
+
+	private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, 0));
+
+	private final Object reserveLock = new Object();
+
+	@Autowired
+	private NumberSequenceRepository numberSequenceRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${ticket.number.block-size}")
+	private int blockSize;
+
+	@Autowired
+	public TicketNumberAllocator(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public long next() {
+		for (;;) {
+			Block current = this.block.get();
+			long number = current.next.getAndIncrement();
+			if (number < current.limit) {
+				return number;
+			}
+			synchronized (this.reserveLock) {
+				if (this.block.get() == current) {
+					this.block.set(reserve());
+				}
+			}
+		}
+	}
+
+	private Block reserve() {
+		return this.transactionTemplate.execute(status -> {
+			NumberSequence sequence = this.numberSequenceRepository.findByNameForUpdate(SEQUENCE_NAME);
+			if (sequence == null) {
+				throw new IllegalStateException("Number sequence " + SEQUENCE_NAME + " not found");
+			}
+			long start = sequence.getNextValue();
+			sequence.setNextValue(start + this.blockSize);
+			this.numberSequenceRepository.saveAndFlush(sequence);
+			return new Block(start, start + this.blockSize);
+		});
+	}
+
+	private static class Block {
+
+		private final AtomicLong next;
+
+		private final long limit;
+
+		Block(long start, long limit) {
+			this.next = new AtomicLong(start);
+			this.limit = limit;
+		}
+	}
+}
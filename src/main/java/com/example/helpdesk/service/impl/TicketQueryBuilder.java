@@ -0,0 +1,122 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.NullHandling;
+import org.springframework.data.domain.Sort.Order;
+
+import com.example.helpdesk.dto.TicketFilter;
+
+/**
+ * Builds the JPQL of the dynamic ticket filters. The WHERE clause is shared
+ * by the page query and its COUNT query so both always match the same rows.
+ */
+class TicketQueryBuilder {
+
+	static final Sort DEFAULT_SORT = new Sort(new Order(Direction.DESC, "date").nullsLast(),
+			new Order(Direction.DESC, "id"));
+
+	static final String SUMMARY_VIEW_SELECT = "SELECT new com.example.helpdesk.dto.TicketSummaryView("
+			+ "t.id, t.number, t.title, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a";
+
+	static final String EXPORT_VIEW_SELECT = "SELECT new com.example.helpdesk.dto.TicketExportView("
+			+ "t.id, t.number, t.title, t.description, t.status, t.priority, t.date, u.email, a.email) "
+			+ "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.assignedUser a";
+
+	private static final Set<String> SORTABLE_PROPERTIES = new HashSet<>(
+			Arrays.asList("id", "number", "date", "title", "status", "priority"));
+
+	private final StringBuilder where = new StringBuilder();
+
+	private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+	TicketQueryBuilder(TicketFilter filter) {
+		if (filter.getTitle() != null) {
+			and("lower(t.title) LIKE :title", "title", "%" + filter.getTitle().toLowerCase() + "%");
+		}
+		if (filter.getStatus() != null) {
+			and("t.status = :status", "status", filter.getStatus());
+		}
+		if (filter.getPriority() != null) {
+			and("t.priority = :priority", "priority", filter.getPriority());
+		}
+		if (filter.getUserId() != null) {
+			and("t.user.id = :userId", "userId", filter.getUserId());
+		}
+		if (filter.getAssignedUserId() != null) {
+			and("t.assignedUser.id = :assignedUserId", "assignedUserId", filter.getAssignedUserId());
+		}
+		if (filter.getBefore() != null) {
+			and("t.date < :before", "before", filter.getBefore());
+		}
+	}
+
+	TicketQueryBuilder and(String condition, String parameter, Object value) {
+		this.where.append(this.where.length() == 0 ? " WHERE " : " AND ").append(condition);
+		this.parameters.put(parameter, value);
+		return this;
+	}
+
+	/**
+	 * Seeks past the cursor position in the {@link #DEFAULT_SORT} order, so
+	 * the database reads the page from the (date, id) index instead of
+	 * skipping the previous rows. The tickets without a date come after all
+	 * the others.
+	 */
+	TicketQueryBuilder after(TicketCursor cursor) {
+		if (cursor.getDate() == null) {
+			return and("(t.date IS NULL AND t.id < :afterId)", "afterId", cursor.getId());
+		}
+		and("(t.date < :afterDate OR (t.date = :afterDate AND t.id < :afterId) OR t.date IS NULL)", "afterDate",
+				cursor.getDate());
+		this.parameters.put("afterId", cursor.getId());
+		return this;
+	}
+
+	<T> TypedQuery<T> select(EntityManager manager, String select, Sort sort, Class<T> resultClass) {
+		String jpql = select + this.where + (sort == null ? "" : orderBy(sort));
+		TypedQuery<T> query = manager.createQuery(jpql, resultClass);
+		this.parameters.forEach(query::setParameter);
+		return query;
+	}
+
+	TypedQuery<Long> count(EntityManager manager) {
+		return select(manager, "SELECT COUNT(t) FROM Ticket t", null, Long.class);
+	}
+
+	/**
+	 * ORDER BY clause for the requested sort, always ending with the id so
+	 * rows sharing the same values keep a stable position between pages.
+	 */
+	static String orderBy(Sort sort) {
+		StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+		boolean sortedById = false;
+		for (Order order : sort) {
+			if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+				throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+			}
+			orderBy.append("t.").append(order.getProperty()).append(' ').append(order.getDirection());
+			if (order.getNullHandling() == NullHandling.NULLS_FIRST) {
+				orderBy.append(" NULLS FIRST");
+			} else if (order.getNullHandling() == NullHandling.NULLS_LAST) {
+				orderBy.append(" NULLS LAST");
+			}
+			orderBy.append(", ");
+			sortedById |= order.getProperty().equals("id");
+		}
+		if (!sortedById) {
+			orderBy.append("t.id DESC, ");
+		}
+		return orderBy.substring(0, orderBy.length() - 2);
+	}
+}
@@ -0,0 +1,192 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.helpdesk.response.Response;
+
+/**
+ * Runs the ticket endpoints off the Tomcat threads, on two bounded pools
+ * whose threads together stay below the connection pool: {@code interactive}
+ * for the cheap calls and {@code bulk} for searches, filtered listings and
+ * exports, so a burst of heavy requests cannot starve the cheap ones. A
+ * read waits at most {@code ticket.async.timeout.<endpoint>} (or the pool
+ * default) and is answered 503 when it times out or its pool is full. A write
+ * is only answered 503 when its pool is full, before it starts: once it runs
+ * it is never timed out, since the transaction would still commit behind the
+ * 503 and a client retrying it would write twice.
+ */
+@Component
+public class TicketRequestExecutor implements PublicMetrics {
+
+	/**
+	 * Servlet async timeout meaning none.
+	 */
+	private static final long NO_TIMEOUT = -1;
+
+	private final Pool interactive;
+
+	private final Pool bulk;
+
+	private final Map<String, LongAdder> timeouts = new ConcurrentHashMap<>();
+
+	private final Environment environment;
+
+	@Autowired
+	public TicketRequestExecutor(Environment environment) {
+		this.environment = environment;
+		this.interactive = new Pool("interactive", environment);
+		this.bulk = new Pool("bulk", environment);
+	}
+
+	public <T> WebAsyncTask<ResponseEntity<Response<T>>> interactive(String endpoint,
+			Callable<ResponseEntity<Response<T>>> work) {
+		return submit(this.interactive, endpoint, work, true);
+	}
+
+	public <T> WebAsyncTask<ResponseEntity<Response<T>>> bulk(String endpoint,
+			Callable<ResponseEntity<Response<T>>> work) {
+		return submit(this.bulk, endpoint, work, true);
+	}
+
+	public <T> WebAsyncTask<ResponseEntity<Response<T>>> interactiveWrite(String endpoint,
+			Callable<ResponseEntity<Response<T>>> work) {
+		return submit(this.interactive, endpoint, work, false);
+	}
+
+	public <T> WebAsyncTask<ResponseEntity<Response<T>>> bulkWrite(String endpoint,
+			Callable<ResponseEntity<Response<T>>> work) {
+		return submit(this.bulk, endpoint, work, false);
+	}
+
+	/**
+	 * Executor of the streamed responses, which Spring MVC runs on its default
+	 * async executor.
+	 */
+	public AsyncTaskExecutor getBulkExecutor() {
+		return this.bulk.executor;
+	}
+
+	private <T> WebAsyncTask<ResponseEntity<Response<T>>> submit(Pool pool, String endpoint,
+			Callable<ResponseEntity<Response<T>>> work, boolean timed) {
+		Admission<T> admission = new Admission<>(work);
+		long timeout = timed
+				? this.environment.getProperty("ticket.async.timeout." + endpoint, Long.class, pool.timeout)
+				: NO_TIMEOUT;
+		WebAsyncTask<ResponseEntity<Response<T>>> task = new WebAsyncTask<>(timeout,
+				new TaskExecutorAdapter(runnable -> {
+					try {
+						pool.executor.execute(runnable);
+					} catch (RejectedExecutionException e) {
+						pool.rejected.increment();
+						admission.rejected = true;
+						runnable.run();
+					}
+				}), admission);
+		task.onTimeout(() -> {
+			this.timeouts.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+			return unavailable("Request timed out");
+		});
+		return task;
+	}
+
+	private static <T> ResponseEntity<Response<T>> unavailable(String message) {
+		Response<T> response = new Response<T>();
+		response.getErrors().add(message);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Collection<Metric<?>> metrics = new ArrayList<>();
+		this.interactive.addMetrics(metrics);
+		this.bulk.addMetrics(metrics);
+		this.timeouts.forEach((endpoint, amount) -> metrics
+				.add(new Metric<Long>("ticket.executor.timeouts." + endpoint, amount.sum())));
+		return metrics;
+	}
+
+	@PreDestroy
+	public void close() {
+		this.interactive.executor.shutdown();
+		this.bulk.executor.shutdown();
+	}
+
+	private static class Admission<T> implements Callable<ResponseEntity<Response<T>>> {
+
+		private final Callable<ResponseEntity<Response<T>>> work;
+
+		private final SqlCounter counter = SqlCounter.current();
+
+		private volatile boolean rejected;
+
+		Admission(Callable<ResponseEntity<Response<T>>> work) {
+			this.work = work;
+		}
+
+		@Override
+		public ResponseEntity<Response<T>> call() throws Exception {
+			if (this.rejected) {
+				return unavailable("Server busy, try again later");
+			}
+			SqlCounter previous = SqlCounter.bind(this.counter);
+			try {
+				return this.work.call();
+			} finally {
+				SqlCounter.restore(previous);
+			}
+		}
+	}
+
+	private static class Pool {
+
+		private final String name;
+
+		private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+		private final long timeout;
+
+		private final LongAdder rejected = new LongAdder();
+
+		Pool(String name, Environment environment) {
+			String prefix = "ticket.async." + name + ".";
+			int threads = environment.getRequiredProperty(prefix + "threads", Integer.class);
+			this.name = name;
+			this.timeout = environment.getRequiredProperty(prefix + "timeout", Long.class);
+			this.executor.setCorePoolSize(threads);
+			this.executor.setMaxPoolSize(threads);
+			this.executor.setQueueCapacity(environment.getRequiredProperty(prefix + "queue-capacity", Integer.class));
+			this.executor.setThreadNamePrefix("ticket-" + name + "-");
+			this.executor.initialize();
+		}
+
+		void addMetrics(Collection<Metric<?>> metrics) {
+			String prefix = "ticket.executor." + this.name + ".";
+			ThreadPoolExecutor pool = this.executor.getThreadPoolExecutor();
+			metrics.add(new Metric<Integer>(prefix + "active", pool.getActiveCount()));
+			metrics.add(new Metric<Integer>(prefix + "queued", pool.getQueue().size()));
+			metrics.add(new Metric<Long>(prefix + "completed", pool.getCompletedTaskCount()));
+			metrics.add(new Metric<Long>(prefix + "rejected", this.rejected.sum()));
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package com.example.helpdesk.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.repository.TicketRepository;
+
+/**
+ * Lucene index over the title and description of the tickets. Each term of a
+ * search matches whole words and word prefixes; exact words and matches in
+ * the title rank higher. The index is derived data, kept in
+ * {@code ticket.search.index-dir} across restarts, and a failed update is
+ * only logged. Every commit records how far the index is up to date: once
+ * the application is ready, a background thread catches up from there, or
+ * builds the index from the database when the directory holds none, so a
+ * start never waits on the ticket table. Deleting the directory rebuilds
+ * the index.
+ * <p>
+ * Every instance keeps its own index. The writes an instance handles are
+ * indexed once they commit; the tickets written by the other instances are
+ * picked up periodically from {@code Ticket.lastModified}, and the hits of
+ * tickets deleted elsewhere are dropped when a search finds them missing.
+ * Searches see the indexed changes after at most
+ * {@code ticket.search.refresh-interval}, as the searcher is reopened by a
+ * background thread instead of once per indexed ticket.
+ */
+@Component
+public class TicketSearchIndex {
+
+	private static final String ID = "id";
+
+	private static final String TITLE = "title";
+
+	private static final String DESCRIPTION = "description";
+
+	private static final String USER_ID = "userId";
+
+	private static final String ASSIGNED_USER_ID = "assignedUserId";
+
+	private static final int MAX_TERMS = 32;
+
+	private static final int MAX_RESULTS = 10000;
+
+	/**
+	 * Commit data key of the moment the committed index is up to date with.
+	 */
+	private static final String INDEXED_UP_TO = "indexedUpTo";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final Analyzer analyzer = new StandardAnalyzer();
+
+	private final IndexWriter writer;
+
+	private final SearcherManager searcherManager;
+
+	private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+	/**
+	 * Tickets written from this moment on are not in the index yet; null
+	 * until the index is loaded.
+	 */
+	private volatile LocalDateTime indexedUpTo;
+
+	/**
+	 * Moment the index found in the directory is up to date with, null when
+	 * there was none.
+	 */
+	private final LocalDateTime committedUpTo;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	/**
+	 * How far back from the last catch up the tickets are read again, so the
+	 * transactions still open then, and the clocks of the other instances,
+	 * cannot slip a change past it.
+	 */
+	@Value("${ticket.search.catch-up-overlap}")
+	private long catchUpOverlap;
+
+	public TicketSearchIndex(@Value("${ticket.search.index-dir}") String directory,
+			@Value("${ticket.search.refresh-interval}") long refreshInterval) throws IOException {
+		Path path = Paths.get(directory).toAbsolutePath();
+		Files.createDirectories(path);
+		this.writer = new IndexWriter(FSDirectory.open(path), new IndexWriterConfig(this.analyzer));
+		this.committedUpTo = committedUpTo(this.writer);
+		this.searcherManager = new SearcherManager(this.writer, null);
+		this.reopenThread = new ControlledRealTimeReopenThread<>(this.writer, this.searcherManager,
+				refreshInterval / 1000.0, 0);
+		this.reopenThread.setName("ticket-search-refresh");
+		this.reopenThread.setDaemon(true);
+		this.reopenThread.start();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadInBackground() {
+		Thread loader = new Thread(() -> {
+			try {
+				load();
+			} catch (IOException | RuntimeException e) {
+				logger.error("ticket search index not loaded, searches miss the tickets written before the start", e);
+			}
+		}, "ticket-search-load");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	/**
+	 * Catches up from the index found in the directory, or builds it when
+	 * there was none.
+	 */
+	public void load() throws IOException {
+		if (this.committedUpTo == null) {
+			rebuild();
+		} else {
+			catchUp(this.committedUpTo);
+		}
+	}
+
+	public boolean isLoaded() {
+		return this.indexedUpTo != null;
+	}
+
+	public synchronized void rebuild() throws IOException {
+		LocalDateTime start = LocalDateTime.now();
+		this.writer.deleteAll();
+		long amount = 0;
+		List<Ticket> tickets = this.ticketRepository.findTop500ByIdGreaterThanOrderByIdAsc(0L);
+		while (!tickets.isEmpty()) {
+			for (Ticket ticket : tickets) {
+				this.writer.addDocument(toDocument(ticket));
+			}
+			amount += tickets.size();
+			tickets = this.ticketRepository
+					.findTop500ByIdGreaterThanOrderByIdAsc(tickets.get(tickets.size() - 1).getId());
+		}
+		commit(start);
+		logger.info("ticket search index rebuilt with " + amount + " tickets");
+	}
+
+	/**
+	 * Indexes the tickets written since the last catch up, by this instance
+	 * or any other. Nothing to do until the index is loaded.
+	 */
+	@Scheduled(fixedDelayString = "${ticket.search.catch-up-interval}", initialDelayString = "${ticket.search.catch-up-interval}")
+	public void catchUp() throws IOException {
+		LocalDateTime indexedUpTo = this.indexedUpTo;
+		if (indexedUpTo != null) {
+			catchUp(indexedUpTo);
+		}
+	}
+
+	private synchronized void catchUp(LocalDateTime indexedUpTo) throws IOException {
+		LocalDateTime start = LocalDateTime.now();
+		LocalDateTime since = indexedUpTo.minusNanos(this.catchUpOverlap * 1_000_000);
+		long amount = 0;
+		List<Ticket> tickets = this.ticketRepository
+				.findTop500ByLastModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(since, 0L);
+		while (!tickets.isEmpty()) {
+			for (Ticket ticket : tickets) {
+				this.writer.updateDocument(new Term(ID, ticket.getId().toString()), toDocument(ticket));
+			}
+			amount += tickets.size();
+			tickets = this.ticketRepository.findTop500ByLastModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+					since, tickets.get(tickets.size() - 1).getId());
+		}
+		if (amount > 0) {
+			commit(start);
+		} else {
+			this.indexedUpTo = start;
+		}
+		logger.debug("ticket search index caught up with " + amount + " tickets");
+	}
+
+	/**
+	 * Commits the index as up to date with the moment, including the tickets
+	 * this instance indexed since the last commit, which a later catch up
+	 * reads again anyway.
+	 */
+	private void commit(LocalDateTime upTo) throws IOException {
+		Map<String, String> commitData = Collections.singletonMap(INDEXED_UP_TO, upTo.toString());
+		this.writer.setLiveCommitData(commitData.entrySet());
+		this.writer.commit();
+		this.searcherManager.maybeRefresh();
+		this.indexedUpTo = upTo;
+	}
+
+	private static LocalDateTime committedUpTo(IndexWriter writer) {
+		Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+		if (commitData != null) {
+			for (Map.Entry<String, String> entry : commitData) {
+				if (INDEXED_UP_TO.equals(entry.getKey())) {
+					return LocalDateTime.parse(entry.getValue());
+				}
+			}
+		}
+		return null;
+	}
+
+	public void index(Ticket ticket) {
+		try {
+			this.writer.updateDocument(new Term(ID, ticket.getId().toString()), toDocument(ticket));
+		} catch (IOException e) {
+			logger.warn("ticket " + ticket.getId() + " not indexed", e);
+		}
+	}
+
+	public void index(Collection<Ticket> tickets) {
+		try {
+			for (Ticket ticket : tickets) {
+				this.writer.updateDocument(new Term(ID, ticket.getId().toString()), toDocument(ticket));
+			}
+		} catch (IOException e) {
+			logger.warn(tickets.size() + " tickets not indexed", e);
+		}
+	}
+
+	public void delete(Long id) {
+		try {
+			this.writer.deleteDocuments(new Term(ID, id.toString()));
+		} catch (IOException e) {
+			logger.warn("ticket " + id + " not removed from the index", e);
+		}
+	}
+
+	/**
+	 * Ids of the tickets of the page, best match first, and the total amount
+	 * of matches. {@code userId} and {@code assignedUserId} restrict the
+	 * search when informed.
+	 */
+	public Hits search(String text, Long userId, Long assignedUserId, int page, int count) {
+		Set<String> terms = analyze(text);
+		if (terms.isEmpty()) {
+			throw new IllegalArgumentException("Search text required");
+		}
+		if (page < 0 || count < 1 || (long) (page + 1) * count > MAX_RESULTS) {
+			throw new IllegalArgumentException("Invalid page: " + page + "/" + count);
+		}
+		BooleanQuery.Builder query = new BooleanQuery.Builder();
+		query.add(match(terms), Occur.MUST);
+		if (userId != null) {
+			query.add(new TermQuery(new Term(USER_ID, userId.toString())), Occur.FILTER);
+		}
+		if (assignedUserId != null) {
+			query.add(new TermQuery(new Term(ASSIGNED_USER_ID, assignedUserId.toString())), Occur.FILTER);
+		}
+		try {
+			IndexSearcher searcher = this.searcherManager.acquire();
+			try {
+				TopScoreDocCollector collector = TopScoreDocCollector.create((page + 1) * count, Integer.MAX_VALUE);
+				searcher.search(query.build(), collector);
+				TopDocs topDocs = collector.topDocs(page * count, count);
+				List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+				for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+					ids.add(Long.valueOf(searcher.doc(scoreDoc.doc).get(ID)));
+				}
+				return new Hits(ids, topDocs.totalHits.value);
+			} finally {
+				this.searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Query match(Set<String> terms) {
+		BooleanQuery.Builder match = new BooleanQuery.Builder();
+		for (String term : terms) {
+			match.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 4f), Occur.SHOULD);
+			match.add(new BoostQuery(new PrefixQuery(new Term(TITLE, term)), 2f), Occur.SHOULD);
+			match.add(new BoostQuery(new TermQuery(new Term(DESCRIPTION, term)), 2f), Occur.SHOULD);
+			match.add(new PrefixQuery(new Term(DESCRIPTION, term)), Occur.SHOULD);
+		}
+		return match.build();
+	}
+
+	private Set<String> analyze(String text) {
+		Set<String> terms = new LinkedHashSet<>();
+		if (text == null) {
+			return terms;
+		}
+		try (TokenStream stream = this.analyzer.tokenStream(TITLE, text)) {
+			CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken() && terms.size() < MAX_TERMS) {
+				terms.add(term.toString());
+			}
+			stream.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return terms;
+	}
+
+	private static Document toDocument(Ticket ticket) {
+		Document document = new Document();
+		document.add(new StringField(ID, ticket.getId().toString(), Field.Store.YES));
+		if (ticket.getTitle() != null) {
+			document.add(new TextField(TITLE, ticket.getTitle(), Field.Store.NO));
+		}
+		if (ticket.getDescription() != null) {
+			document.add(new TextField(DESCRIPTION, ticket.getDescription(), Field.Store.NO));
+		}
+		if (ticket.getUser() != null) {
+			document.add(new StringField(USER_ID, ticket.getUser().getId().toString(), Field.Store.NO));
+		}
+		if (ticket.getAssignedUser() != null) {
+			document.add(new StringField(ASSIGNED_USER_ID, ticket.getAssignedUser().getId().toString(),
+					Field.Store.NO));
+		}
+		return document;
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		this.reopenThread.close();
+		this.searcherManager.close();
+		this.writer.close();
+	}
+
+	public static class Hits {
+
+		private final List<Long> ids;
+
+		private final long total;
+
+		Hits(List<Long> ids, long total) {
+			this.ids = ids;
+			this.total = total;
+		}
+
+		public List<Long> getIds() {
+			return ids;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+	}
+}
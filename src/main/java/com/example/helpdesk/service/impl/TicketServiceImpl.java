@@ -1,23 +1,54 @@
 package com.example.helpdesk.service.impl;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.helpdesk.dto.ChangeStatusView;
+import com.example.helpdesk.dto.CursorPage;
+import com.example.helpdesk.dto.Summary;
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.dto.TicketSummaryView;
 import com.example.helpdesk.entity.ChangeStatus;
 import com.example.helpdesk.entity.Ticket;
-import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
 import com.example.helpdesk.repository.ChangeStatusRepository;
 import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.service.AttachmentService;
 import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.TicketWorkflow;
 
 @Service
 public class TicketServiceImpl implements TicketService {
@@ -28,28 +59,135 @@ public class TicketServiceImpl implements TicketService {
 	@Autowired
 	private ChangeStatusRepository changeStatusRepository;
 
+	@Autowired
+	private TicketStatusCounter ticketStatusCounter;
+
+	@Autowired
+	private TechnicianWorkload technicianWorkload;
+
+	@Autowired
+	private TicketNumberAllocator ticketNumberAllocator;
+
+	@Autowired
+	private AttachmentService attachmentService;
+
+	@Autowired
+	private TicketSearchIndex ticketSearchIndex;
+
+	@Autowired
+	private TicketWorkflow ticketWorkflow;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@PersistenceContext
 	private EntityManager manager;
 
+	private TransactionTemplate transaction;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	@Value("${ticket.cursor.max-count}")
+	private int maxCursorCount;
+
+	@Value("${ticket.transition.max-attempts}")
+	private int transitionAttempts;
+
+	@Autowired
+	public void setTransactionManager(PlatformTransactionManager transactionManager) {
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
 	@Override
 	public Ticket createOrUpdate(Ticket ticket) {
-		return this.ticketRepository.save(ticket);
+		boolean created = ticket.getId() == null;
+		List<Object[]> previous = created ? Collections.emptyList()
+				: this.ticketRepository.findStatusAndAssignedUserIdById(ticket.getId());
+		StatusEnum previousStatus = previous.isEmpty() ? null : (StatusEnum) previous.get(0)[0];
+		Long previousAssigneeId = previous.isEmpty() ? null : (Long) previous.get(0)[1];
+		Ticket ticketPersisted = this.ticketRepository.save(ticket);
+		StatusEnum status = ticketPersisted.getStatus();
+		TicketEventTypeEnum type;
+		if (created) {
+			type = TicketEventTypeEnum.CREATED;
+		} else {
+			type = previousStatus == status ? TicketEventTypeEnum.UPDATED : TicketEventTypeEnum.STATUS_CHANGED;
+		}
+		afterCommit(() -> {
+			if (created) {
+				this.ticketStatusCounter.increment(status);
+			} else {
+				this.ticketStatusCounter.move(previousStatus, status);
+			}
+			this.ticketSearchIndex.index(ticketPersisted);
+		});
+		this.eventPublisher.publishEvent(new TicketEvent(type, ticketPersisted, previousStatus, previousAssigneeId));
+		return ticketPersisted;
 	}
 
+	/**
+	 * Loaded by id rather than with a query, so its users come from the
+	 * second-level cache once they were read. The ticket itself, which any
+	 * instance may change, is always read from the database.
+	 */
 	@Override
 	public Ticket findById(Long id) {
-		return this.ticketRepository.findOne(id);
+		return this.readOnlyTransaction.execute(status -> {
+			Ticket ticket = this.manager.find(Ticket.class, id);
+			if (ticket != null) {
+				Hibernate.initialize(ticket.getUser());
+				Hibernate.initialize(ticket.getAssignedUser());
+			}
+			return ticket;
+		});
+	}
+
+	@Override
+	public Long nextNumber() {
+		return this.ticketNumberAllocator.next();
 	}
 
 	@Override
 	public void delete(Long id) {
+		Ticket ticket = this.ticketRepository.findWithUsersById(id);
+		if (ticket == null) {
+			// already deleted by a concurrent request
+			return;
+		}
+		TicketEvent event = new TicketEvent(TicketEventTypeEnum.DELETED, ticket, ticket.getStatus(),
+				ticket.getAssignedUser() == null ? null : ticket.getAssignedUser().getId());
+		this.attachmentService.deleteByTicket(id);
 		this.ticketRepository.delete(id);
+		afterCommit(() -> {
+			this.ticketStatusCounter.decrement(event.getStatus());
+			this.ticketSearchIndex.delete(id);
+		});
+		this.eventPublisher.publishEvent(event);
+	}
+
+	/**
+	 * Runs the action once the surrounding transaction commits, or right away
+	 * when there is none.
+	 */
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
 	}
 
 	@Override
-	public Page<Ticket> listTicket(int page, int count) {
-		Pageable pages = new PageRequest(page, count);
-		return this.ticketRepository.findAll(pages);
+	public Page<TicketSummaryView> listTicket(int page, int count) {
+		Pageable pages = new PageRequest(page, count, TicketQueryBuilder.DEFAULT_SORT);
+		return this.ticketRepository.findAllSummaries(pages);
 	}
 
 	@Override
@@ -57,72 +195,131 @@ public class TicketServiceImpl implements TicketService {
 		return this.changeStatusRepository.save(changeStatus);
 	}
 
+	/**
+	 * The ticket update, checked against its version, and the history row go
+	 * to the database in one flush. A transaction that lost the race to
+	 * another one is replayed on fresh state, up to
+	 * {@code ticket.transition.max-attempts} times.
+	 */
 	@Override
-	public Iterable<ChangeStatus> lisChangeStatus(Long ticketId) {
-		return this.changeStatusRepository.findByTicketIdOrderByDateChangeStatusDesc(ticketId);
+	public Ticket transition(Long id, StatusEnum targetStatus, User actor) {
+		for (int attempt = 1;; attempt++) {
+			OptimisticLockingFailureException failure;
+			try {
+				return this.transaction.execute(status -> doTransition(id, targetStatus, actor));
+			} catch (OptimisticLockException e) {
+				failure = new ObjectOptimisticLockingFailureException(Ticket.class, id, e);
+			} catch (OptimisticLockingFailureException e) {
+				failure = e;
+			}
+			if (attempt >= this.transitionAttempts) {
+				throw failure;
+			}
+		}
 	}
 
-	@Override
-	public Page<Ticket> findByCurrentUser(int page, int count, Long userId) {
-		Pageable pages = new PageRequest(page, count);
-		return this.ticketRepository.findByUserIdOrderByDateDesc(pages, userId);
+	private Ticket doTransition(Long id, StatusEnum targetStatus, User actor) {
+		Ticket ticket = this.manager.find(Ticket.class, id);
+		if (ticket == null) {
+			throw new IllegalArgumentException("Register not found id: " + id);
+		}
+		StatusEnum previousStatus = ticket.getStatus();
+		String rejection = this.ticketWorkflow.reject(previousStatus, targetStatus, actor.getProfile());
+		if (rejection != null) {
+			throw new IllegalStateException(rejection);
+		}
+		Long previousAssigneeId = ticket.getAssignedUser() == null ? null : ticket.getAssignedUser().getId();
+		User actorReference = this.manager.getReference(User.class, actor.getId());
+		ticket.setStatus(targetStatus);
+		if (targetStatus == StatusEnum.Assigned) {
+			ticket.setAssignedUser(actorReference);
+		}
+		ChangeStatus changeStatus = new ChangeStatus();
+		changeStatus.setTicket(ticket);
+		changeStatus.setUserChange(actorReference);
+		changeStatus.setDateChangeStatus(LocalDate.now());
+		changeStatus.setStatus(targetStatus);
+		this.manager.persist(changeStatus);
+		this.manager.flush();
+		Hibernate.initialize(ticket.getUser());
+		Hibernate.initialize(ticket.getAssignedUser());
+		afterCommit(() -> {
+			this.ticketStatusCounter.move(previousStatus, targetStatus);
+			this.ticketSearchIndex.index(ticket);
+		});
+		this.eventPublisher.publishEvent(new TicketEvent(
+				previousStatus == targetStatus ? TicketEventTypeEnum.UPDATED : TicketEventTypeEnum.STATUS_CHANGED,
+				ticket, previousStatus, previousAssigneeId));
+		return ticket;
 	}
 
 	@Override
-	public Page<Ticket> findByParameters(int page, int count, String title, String status, String priority) {
-		Pageable pages = new PageRequest(page, count);
-		// return this.ticketRepository
-		// .findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingOrderByDateDesc(title,
-		// status,
-		// priority, pages);
-		StringBuilder query = new StringBuilder();
-		query.append("SELECT t FROM Ticket t WHERE t.title LIKE :title");
-		if (status != "")
-			query.append(" AND t.status = :status");
-		if (priority != "")
-			query.append(" AND t.priority = :priority");
-
-		TypedQuery<Ticket> result = manager.createQuery(query.toString(), Ticket.class);
-		result.setParameter("title", "%" + title + "%");
-		if (status != "")
-			result.setParameter("status", StatusEnum.valueOf(status));
-		if (priority != "")
-			result.setParameter("priority", PriorityEnum.valueOf(priority));
+	public List<ChangeStatusView> lisChangeStatus(Long ticketId) {
+		return this.changeStatusRepository.findViewsByTicketId(ticketId);
+	}
 
-		return new PageImpl<>(result.getResultList(), pages, count);
+	@Override
+	public Map<Long, List<ChangeStatusView>> lisChangeStatus(Collection<Long> ticketIds) {
+		Map<Long, List<ChangeStatusView>> changesByTicket = new LinkedHashMap<>();
+		if (ticketIds.isEmpty()) {
+			return changesByTicket;
+		}
+		for (Long ticketId : ticketIds) {
+			changesByTicket.put(ticketId, new ArrayList<>());
+		}
+		for (ChangeStatusView change : this.changeStatusRepository.findViewsByTicketIdIn(ticketIds)) {
+			changesByTicket.get(change.getTicketId()).add(change);
+		}
+		return changesByTicket;
 	}
 
 	@Override
-	public Page<Ticket> findByParametersAndCurrentUser(int page, int count, String title, String status,
-			String priority, Long userId) {
-		Pageable pages = new PageRequest(page, count);
-		// return this.ticketRepository
-		// .findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndUserIdOrderByDateDesc(title,
-		// status, priority, userId, pages);
+	public Page<TicketSummaryView> findByCurrentUser(int page, int count, Long userId) {
+		Pageable pages = new PageRequest(page, count, TicketQueryBuilder.DEFAULT_SORT);
+		return this.ticketRepository.findSummariesByUserId(userId, pages);
+	}
 
-		StringBuilder query = new StringBuilder();
-		query.append("SELECT t FROM Ticket t WHERE lower(t.title) LIKE lower(:title)");
-		if (status != "")
-			query.append(" AND t.status = :status");
-		if (priority != "")
-			query.append(" AND t.priority = :priority");
-		query.append(" AND t.user.id = :userId");
+	@Override
+	public Page<TicketSummaryView> findByParameters(int page, int count, String title, String status, String priority,
+			Sort sort) {
+		TicketFilter filter = new TicketFilter(title, status, priority);
+		return findByFilter(filter, new PageRequest(page, count, sort));
+	}
 
-		TypedQuery<Ticket> result = manager.createQuery(query.toString(), Ticket.class);
-		result.setParameter("title", "%" + title + "%");
-		if (status != "")
-			result.setParameter("status", StatusEnum.valueOf(status));
-		if (priority != "")
-			result.setParameter("priority", PriorityEnum.valueOf(priority));
-		result.setParameter("userId", userId);
+	@Override
+	public Page<TicketSummaryView> findByParametersAndCurrentUser(int page, int count, String title, String status,
+			String priority, Long userId, Sort sort) {
+		TicketFilter filter = new TicketFilter(title, status, priority);
+		filter.setUserId(userId);
+		return findByFilter(filter, new PageRequest(page, count, sort));
+	}
 
-		return new PageImpl<>(result.getResultList(), pages, count);
+	@Override
+	public Page<TicketSummaryView> findByNumber(int page, int count, Long number) {
+		Pageable pages = new PageRequest(page, count, TicketQueryBuilder.DEFAULT_SORT);
+		return this.ticketRepository.findSummariesByNumber(number, pages);
 	}
 
 	@Override
-	public Page<Ticket> findByNumber(int page, int count, Long number) {
-		Pageable pages = new PageRequest(page, count);
-		return this.ticketRepository.findByNumber(number, pages);
+	public Page<TicketSummaryView> search(int page, int count, String text, Long userId, Long assignedUser) {
+		TicketSearchIndex.Hits hits = this.ticketSearchIndex.search(text, userId, assignedUser, page, count);
+		Map<Long, TicketSummaryView> views = new HashMap<>();
+		if (!hits.getIds().isEmpty()) {
+			this.ticketRepository.findSummariesByIdIn(hits.getIds()).forEach(view -> views.put(view.getId(), view));
+		}
+		List<TicketSummaryView> content = new ArrayList<>(hits.getIds().size());
+		long deleted = 0;
+		for (Long id : hits.getIds()) {
+			TicketSummaryView view = views.get(id);
+			if (view != null) {
+				content.add(view);
+			} else {
+				// deleted by another instance
+				this.ticketSearchIndex.delete(id);
+				deleted++;
+			}
+		}
+		return new PageImpl<>(content, new PageRequest(page, count), hits.getTotal() - deleted);
 	}
 
 	@Override
@@ -131,30 +328,132 @@ public class TicketServiceImpl implements TicketService {
 	}
 
 	@Override
-	public Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status,
+	public Page<TicketSummaryView> findByParameterAndAssignedUser(int page, int count, String title, String status,
+			String priority, Long assignedUser, Sort sort) {
+		TicketFilter filter = new TicketFilter(title, status, priority);
+		filter.setAssignedUserId(assignedUser);
+		return findByFilter(filter, new PageRequest(page, count, sort));
+	}
+
+	private Page<TicketSummaryView> findByFilter(TicketFilter filter, Pageable pages) {
+		TicketQueryBuilder builder = new TicketQueryBuilder(filter);
+		Sort sort = pages.getSort() == null ? TicketQueryBuilder.DEFAULT_SORT : pages.getSort();
+		TypedQuery<TicketSummaryView> query = builder.select(this.manager, TicketQueryBuilder.SUMMARY_VIEW_SELECT, sort,
+				TicketSummaryView.class);
+		query.setFirstResult(pages.getOffset());
+		query.setMaxResults(pages.getPageSize());
+		TypedQuery<Long> countQuery = builder.count(this.manager);
+		return PageableExecutionUtils.getPage(query.getResultList(), pages, () -> countQuery.getSingleResult());
+	}
+
+	@Override
+	public CursorPage<TicketSummaryView> listTicket(String cursor, int count) {
+		return findByFilter(new TicketFilter(), cursor, count);
+	}
+
+	@Override
+	public CursorPage<TicketSummaryView> findByCurrentUser(String cursor, int count, Long userId) {
+		TicketFilter filter = new TicketFilter();
+		filter.setUserId(userId);
+		return findByFilter(filter, cursor, count);
+	}
+
+	@Override
+	public CursorPage<TicketSummaryView> findByParameters(String cursor, int count, String title, String status,
+			String priority) {
+		return findByFilter(new TicketFilter(title, status, priority), cursor, count);
+	}
+
+	@Override
+	public CursorPage<TicketSummaryView> findByParametersAndCurrentUser(String cursor, int count, String title, String status,
+			String priority, Long userId) {
+		TicketFilter filter = new TicketFilter(title, status, priority);
+		filter.setUserId(userId);
+		return findByFilter(filter, cursor, count);
+	}
+
+	@Override
+	public CursorPage<TicketSummaryView> findByParameterAndAssignedUser(String cursor, int count, String title, String status,
 			String priority, Long assignedUser) {
-		Pageable pages = new PageRequest(page, count);
-		// return this.ticketRepository
-		// .findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndAssignedUserIdOrderByDateDesc(
-		// title, status, priority, assignedUser, pages);
-		
-		StringBuilder query = new StringBuilder();
-		query.append("SELECT t FROM Ticket t WHERE t.title LIKE :title");
-		if (status != "")
-			query.append(" AND t.status = :status");
-		if (priority != "")
-			query.append(" AND t.priority = :priority");
-		query.append(" AND t.assignedUser.id = :assignedUserId");
-
-		TypedQuery<Ticket> result = manager.createQuery(query.toString(), Ticket.class);
-		result.setParameter("title", "%" + title + "%");
-		if (status != "")
-			result.setParameter("status", StatusEnum.valueOf(status));
-		if (priority != "")
-			result.setParameter("priority", PriorityEnum.valueOf(priority));
-		result.setParameter("assignedUserId", assignedUser);
-
-		return new PageImpl<>(result.getResultList(), pages, count);
+		TicketFilter filter = new TicketFilter(title, status, priority);
+		filter.setAssignedUserId(assignedUser);
+		return findByFilter(filter, cursor, count);
+	}
+
+	private CursorPage<TicketSummaryView> findByFilter(TicketFilter filter, String cursor, int requestedCount) {
+		if (requestedCount < 1) {
+			throw new IllegalArgumentException("Count must be greater than zero");
+		}
+		int count = Math.min(requestedCount, this.maxCursorCount);
+		TicketQueryBuilder builder = new TicketQueryBuilder(filter);
+		if (cursor != null && !cursor.isEmpty()) {
+			builder.after(TicketCursor.decode(cursor));
+		}
+		TypedQuery<TicketSummaryView> query = builder.select(this.manager, TicketQueryBuilder.SUMMARY_VIEW_SELECT,
+				TicketQueryBuilder.DEFAULT_SORT, TicketSummaryView.class);
+		query.setMaxResults(count + 1);
+		List<TicketSummaryView> tickets = query.getResultList();
+		if (tickets.size() <= count) {
+			return new CursorPage<>(tickets, null);
+		}
+		tickets = tickets.subList(0, count);
+		return new CursorPage<>(tickets, TicketCursor.of(tickets.get(count - 1)).encode());
+	}
+
+	@Override
+	public Summary summarize() {
+		return toSummary(this.ticketStatusCounter.snapshot());
+	}
+
+	@Override
+	public Summary summarizeByCurrentUser(Long userId) {
+		return toSummary(TicketStatusCounter
+				.toAmountByStatus(this.ticketRepository.countGroupByStatusAndUserId(userId)));
+	}
+
+	@Override
+	public Summary summarizeByAssignedUser(Long assignedUser) {
+		return toSummary(TicketStatusCounter
+				.toAmountByStatus(this.ticketRepository.countGroupByStatusAndAssignedUserId(assignedUser)));
+	}
+
+	@Override
+	public List<TechnicianStats> statsByTechnician(LocalDate from, LocalDate to, Long technicianId) {
+		return this.technicianWorkload.snapshot(from, to, technicianId);
+	}
+
+	private Summary toSummary(Map<StatusEnum, Long> amountByStatus) {
+		Summary summary = new Summary();
+		summary.setAmountNew(0);
+		summary.setAmountResolved(0);
+		summary.setAmountApproved(0);
+		summary.setAmountDisapproved(0);
+		summary.setAmountAssigned(0);
+		summary.setAmountClosed(0);
+		for (Map.Entry<StatusEnum, Long> entry : amountByStatus.entrySet()) {
+			int amount = entry.getValue().intValue();
+			switch (entry.getKey()) {
+			case New:
+				summary.setAmountNew(amount);
+				break;
+			case Resolved:
+				summary.setAmountResolved(amount);
+				break;
+			case Approved:
+				summary.setAmountApproved(amount);
+				break;
+			case Disapproved:
+				summary.setAmountDisapproved(amount);
+				break;
+			case Assigned:
+				summary.setAmountAssigned(amount);
+				break;
+			case Closed:
+				summary.setAmountClosed(amount);
+				break;
+			}
+		}
+		return summary;
 	}
 
 }
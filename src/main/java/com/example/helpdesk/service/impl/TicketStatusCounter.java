@@ -0,0 +1,97 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.repository.TicketRepository;
+
+/**
+ * Amount of tickets per status kept in memory, so the summary never touches
+ * JPA. Every write path reports status moves here once they commit; the
+ * counters are rebuilt from the database when the application starts and
+ * periodically, to pick up writes made by other instances.
+ * <p>
+ * A rebuild swaps in new counters instead of correcting the current ones, so
+ * a move reported while the database is counted cannot be applied twice. A
+ * move that commits after the count and is reported before the swap is lost
+ * until the next rebuild.
+ */
+@Component
+public class TicketStatusCounter {
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private volatile Map<StatusEnum, LongAdder> counters = counters(Collections.emptyMap());
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	public void increment(StatusEnum status) {
+		if (status != null) {
+			this.counters.get(status).increment();
+		}
+	}
+
+	public void decrement(StatusEnum status) {
+		if (status != null) {
+			this.counters.get(status).decrement();
+		}
+	}
+
+	public void move(StatusEnum from, StatusEnum to) {
+		if (from != to) {
+			decrement(from);
+			increment(to);
+		}
+	}
+
+	public Map<StatusEnum, Long> snapshot() {
+		Map<StatusEnum, Long> amountByStatus = new EnumMap<>(StatusEnum.class);
+		this.counters.forEach((status, counter) -> amountByStatus.put(status, counter.sum()));
+		return amountByStatus;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${ticket.summary.reconcile-interval}", initialDelayString = "${ticket.summary.reconcile-interval}")
+	public void rebuild() {
+		Map<StatusEnum, Long> amountByStatus = toAmountByStatus(this.ticketRepository.countGroupByStatus());
+		this.counters = counters(amountByStatus);
+		logger.debug("ticket status counters rebuilt: " + amountByStatus);
+	}
+
+	private static Map<StatusEnum, LongAdder> counters(Map<StatusEnum, Long> amountByStatus) {
+		Map<StatusEnum, LongAdder> counters = new EnumMap<>(StatusEnum.class);
+		for (StatusEnum status : StatusEnum.values()) {
+			LongAdder counter = new LongAdder();
+			counter.add(amountByStatus.getOrDefault(status, 0L));
+			counters.put(status, counter);
+		}
+		return Collections.unmodifiableMap(counters);
+	}
+
+	/**
+	 * Converts the {@code [StatusEnum, Long]} rows of the GROUP BY status
+	 * queries of {@link TicketRepository}.
+	 */
+	static Map<StatusEnum, Long> toAmountByStatus(List<Object[]> rows) {
+		Map<StatusEnum, Long> amountByStatus = new EnumMap<>(StatusEnum.class);
+		for (Object[] row : rows) {
+			if (row[0] != null) {
+				amountByStatus.put((StatusEnum) row[0], (Long) row[1]);
+			}
+		}
+		return amountByStatus;
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.helpdesk.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * The pooled data source, timing how long getting a connection takes and
+ * counting the requests that gave up after
+ * {@code spring.datasource.tomcat.max-wait}. Every consumer of the data
+ * source goes through it; {@link ConnectionPoolMonitor} publishes the
+ * numbers.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+	private final DataSource pool;
+
+	private final LongAdder acquired = new LongAdder();
+
+	private final LongAdder waitNanos = new LongAdder();
+
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder timeouts = new LongAdder();
+
+	public TimedDataSource(DataSource pool) {
+		super(pool);
+		this.pool = pool;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		long start = System.nanoTime();
+		try {
+			return acquired(super.getConnection(), start);
+		} catch (PoolExhaustedException e) {
+			this.timeouts.increment();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		long start = System.nanoTime();
+		try {
+			return acquired(super.getConnection(username, password), start);
+		} catch (PoolExhaustedException e) {
+			this.timeouts.increment();
+			throw e;
+		}
+	}
+
+	private Connection acquired(Connection connection, long start) {
+		long wait = System.nanoTime() - start;
+		this.acquired.increment();
+		this.waitNanos.add(wait);
+		this.maxWaitNanos.accumulate(wait);
+		return connection;
+	}
+
+	public DataSource getPool() {
+		return this.pool;
+	}
+
+	public long getAcquired() {
+		return this.acquired.sum();
+	}
+
+	public long getWaitNanos() {
+		return this.waitNanos.sum();
+	}
+
+	public long getMaxWaitNanos() {
+		return this.maxWaitNanos.get();
+	}
+
+	public long getTimeouts() {
+		return this.timeouts.sum();
+	}
+
+	/**
+	 * Wraps the tomcat-jdbc data source bean as it is created.
+	 */
+	public static class PostProcessor implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource) {
+				return new TimedDataSource((DataSource) bean);
+			}
+			return bean;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.helpdesk.service.impl;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.service.TicketWorkflow;
+
+/**
+ * {@link TicketWorkflow} backed by a precomputed table: per profile, one bit
+ * mask of the allowed targets for each source status, so a check is two
+ * array lookups and a bit test.
+ */
+public final class TransitionTable implements TicketWorkflow {
+
+	private static final int STATUSES = StatusEnum.values().length;
+
+	private final Map<ProfileEnum, int[]> allowed;
+
+	private TransitionTable(Map<ProfileEnum, int[]> allowed) {
+		this.allowed = allowed;
+	}
+
+	/**
+	 * Technicians take, resolve and close tickets; customers approve or
+	 * disapprove the resolution; administrators may do both. A disapproved
+	 * ticket goes back to a technician and a closed one stays closed.
+	 */
+	public static TransitionTable defaults() {
+		Builder builder = builder();
+		for (ProfileEnum profile : new ProfileEnum[] { ProfileEnum.ROLE_TECHNICIAN, ProfileEnum.ROLE_ADMIN }) {
+			builder.allow(profile, StatusEnum.New, StatusEnum.Assigned)
+					.allow(profile, StatusEnum.Assigned, StatusEnum.Assigned, StatusEnum.Resolved)
+					.allow(profile, StatusEnum.Disapproved, StatusEnum.Assigned, StatusEnum.Resolved)
+					.allow(profile, StatusEnum.Approved, StatusEnum.Closed);
+		}
+		for (ProfileEnum profile : new ProfileEnum[] { ProfileEnum.ROLE_CUSTOMER, ProfileEnum.ROLE_ADMIN }) {
+			builder.allow(profile, StatusEnum.Resolved, StatusEnum.Approved, StatusEnum.Disapproved);
+		}
+		return builder.build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public boolean allows(StatusEnum from, StatusEnum to, ProfileEnum profile) {
+		if (from == null || to == null || profile == null) {
+			return false;
+		}
+		int[] masks = this.allowed.get(profile);
+		return masks != null && (masks[from.ordinal()] & (1 << to.ordinal())) != 0;
+	}
+
+	@Override
+	public String reject(StatusEnum from, StatusEnum to, ProfileEnum profile) {
+		if (to == null) {
+			return "Invalid status";
+		}
+		if (allows(from, to, profile)) {
+			return null;
+		}
+		Set<StatusEnum> targets = targets(from, profile);
+		return "The " + describe(profile) + " profile cannot change a ticket from " + from + " to " + to
+				+ (targets.isEmpty() ? "" : ", only to " + targets);
+	}
+
+	@Override
+	public Set<StatusEnum> targets(StatusEnum from, ProfileEnum profile) {
+		Set<StatusEnum> targets = EnumSet.noneOf(StatusEnum.class);
+		int[] masks = from == null || profile == null ? null : this.allowed.get(profile);
+		if (masks != null) {
+			for (StatusEnum status : StatusEnum.values()) {
+				if ((masks[from.ordinal()] & (1 << status.ordinal())) != 0) {
+					targets.add(status);
+				}
+			}
+		}
+		return targets;
+	}
+
+	private static String describe(ProfileEnum profile) {
+		return profile == null ? "unknown" : profile.name().replace("ROLE_", "").toLowerCase();
+	}
+
+	public static class Builder {
+
+		private final Map<ProfileEnum, int[]> allowed = new EnumMap<>(ProfileEnum.class);
+
+		public Builder allow(ProfileEnum profile, StatusEnum from, StatusEnum... to) {
+			int[] masks = this.allowed.computeIfAbsent(profile, key -> new int[STATUSES]);
+			for (StatusEnum target : to) {
+				masks[from.ordinal()] |= 1 << target.ordinal();
+			}
+			return this;
+		}
+
+		public TransitionTable build() {
+			Map<ProfileEnum, int[]> allowed = new EnumMap<>(ProfileEnum.class);
+			this.allowed.forEach((profile, masks) -> allowed.put(profile, masks.clone()));
+			return new TransitionTable(allowed);
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.example.helpdesk.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,15 +15,24 @@ import com.example.helpdesk.service.UserService;
 @Service
 public class UserServiceImpl implements UserService {
 
+	static final String USERS_CACHE = "users";
+
 	@Autowired
 	private UserRepository userRepository;
 	
+	/**
+	 * Cached because the security filter resolves the user of every
+	 * authenticated request. The returned instance is shared: callers must
+	 * not modify it.
+	 */
 	@Override
+	@Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
 	public User findByEmail(String email) {
 		return this.userRepository.findByEmail(email);
 	}
 
 	@Override
+	@CacheEvict(cacheNames = USERS_CACHE, allEntries = true)
 	public User createOrUpdate(User user) {
 		return this.userRepository.save(user);
 	}
@@ -32,6 +43,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@CacheEvict(cacheNames = USERS_CACHE, allEntries = true)
 	public void delete(Long id) {
 		this.userRepository.delete(id);
 	}
@@ -0,0 +1,79 @@
+create table user (
+	id bigint generated by default as identity,
+	email varchar(255) not null,
+	password varchar(255) not null,
+	profile varchar(255),
+	primary key (id)
+);
+
+create table ticket (
+	id bigint generated by default as identity,
+	date date,
+	description varchar(255),
+	number bigint,
+	priority varchar(255),
+	status varchar(255),
+	title varchar(255),
+	assigned_user_id bigint,
+	user_id bigint,
+	primary key (id)
+);
+
+create table change_status (
+	id bigint generated by default as identity,
+	date_change_status date,
+	status varchar(255),
+	ticket_id bigint,
+	user_change_id bigint,
+	primary key (id)
+);
+
+create table attachment (
+	id bigint generated by default as identity,
+	content_type varchar(255),
+	date date,
+	file_name varchar(255),
+	hash varchar(255),
+	size bigint,
+	ticket_id bigint,
+	primary key (id)
+);
+
+create table number_sequence (
+	name varchar(255) not null,
+	next_value bigint,
+	primary key (name)
+);
+
+-- the ticket number sequence row, created once with the schema instead of by the first instance to need it,
+-- so two instances starting together cannot both create it and hand out the same block
+insert into number_sequence (name, next_value) values ('ticket_number', 1);
+
+-- findByNumber and the ticket number allocator
+create unique index ux_ticket_number on ticket (number);
+
+-- customer listings: findByUserIdOrderByDateDesc and the filters scoped to the current user
+create index ix_ticket_user_date on ticket (user_id, date);
+
+-- technician listings: findByParameterAndAssignedUser
+create index ix_ticket_assigned_status_date on ticket (assigned_user_id, status, date);
+
+-- findByParameters filtered by status and priority
+create index ix_ticket_status_priority_date on ticket (status, priority, date);
+
+-- default listing order (date desc, id desc) and its keyset pages
+create index ix_ticket_date_id on ticket (date, id);
+
+-- findByTicketIdOrderByDateChangeStatusDesc
+create index ix_change_status_ticket_date on change_status (ticket_id, date_change_status);
+
+-- attachments of a ticket and the shared-content check on delete
+create index ix_attachment_ticket_hash on attachment (ticket_id, hash);
+create index ix_attachment_hash on attachment (hash);
+
+-- added after the indexes above so H2 backs each foreign key with them instead of a separate index
+alter table ticket add constraint fk_ticket_user foreign key (user_id) references user;
+alter table ticket add constraint fk_ticket_assigned_user foreign key (assigned_user_id) references user;
+alter table change_status add constraint fk_change_status_ticket foreign key (ticket_id) references ticket;
+alter table change_status add constraint fk_change_status_user foreign key (user_change_id) references user;
+alter table attachment add constraint fk_attachment_ticket foreign key (ticket_id) references ticket;
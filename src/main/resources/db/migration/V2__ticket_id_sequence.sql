@@ -0,0 +1,7 @@
+-- ticket ids are allocated by Hibernate from this sequence, 50 at a time (Ticket.id allocationSize);
+-- its pooled optimizer reads a value as the top of a block, so the sequence restarts at max(id) + 50
+-- for the first block to start after any ticket the identity column already numbered
+create sequence ticket_id_seq start with 1 increment by 50;
+alter sequence ticket_id_seq restart with (select coalesce(max(id), 0) + 50 from ticket);
+
+alter table ticket alter column id bigint not null;
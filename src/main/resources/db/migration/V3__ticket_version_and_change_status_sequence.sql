@@ -0,0 +1,10 @@
+-- optimistic locking of the status transitions (Ticket.version)
+alter table ticket add column version bigint default 0 not null;
+
+-- status change ids are allocated by Hibernate from this sequence, 50 at a time (ChangeStatus.id allocationSize),
+-- so the history row is written in the same flush as the ticket and can be batched; like ticket_id_seq (V2)
+-- it restarts at max(id) + 50, for the first block to start after any row the identity column already numbered
+create sequence change_status_id_seq start with 1 increment by 50;
+alter sequence change_status_id_seq restart with (select coalesce(max(id), 0) + 50 from change_status);
+
+alter table change_status alter column id bigint not null;
@@ -0,0 +1,5 @@
+-- last time each ticket was written (Ticket.lastModified), so every instance can pick up in its search index
+-- the tickets other instances changed
+alter table ticket add column last_modified timestamp;
+update ticket set last_modified = current_timestamp;
+create index ix_ticket_last_modified on ticket (last_modified);
@@ -0,0 +1,21 @@
+-- committed ticket events, read by every instance to push the changes made by the others to its own
+-- event feed subscribers (TicketEventRelay); rows are purged after ticket.events.retention
+create table ticket_event (
+	id bigint generated by default as identity,
+	origin varchar(36) not null,
+	created timestamp not null,
+	type varchar(32) not null,
+	ticket_id bigint,
+	number bigint,
+	title varchar(255),
+	status varchar(32),
+	previous_status varchar(32),
+	priority varchar(32),
+	user_id bigint,
+	assigned_user_id bigint,
+	previous_assigned_user_id bigint,
+	date date,
+	primary key (id)
+);
+
+create index ix_ticket_event_created on ticket_event (created);
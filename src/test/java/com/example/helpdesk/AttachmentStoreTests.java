@@ -0,0 +1,71 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.example.helpdesk.service.impl.AttachmentStore;
+import com.example.helpdesk.service.impl.AttachmentStore.StoredContent;
+
+public class AttachmentStoreTests {
+
+	private static final long GRACE_PERIOD = 60000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private AttachmentStore store;
+
+	@Before
+	public void setUp() throws IOException {
+		this.store = new AttachmentStore(this.folder.getRoot().getPath());
+	}
+
+	@Test
+	public void unreferencedContentIsCollectedAfterTheGracePeriod() throws IOException {
+		Path content = this.store.resolve(store("old").getHash());
+		age(content);
+
+		assertEquals(1, this.store.collect(GRACE_PERIOD, hash -> false));
+		assertFalse(Files.exists(content));
+	}
+
+	@Test
+	public void referencedContentIsKept() throws IOException {
+		Path content = this.store.resolve(store("kept").getHash());
+		age(content);
+
+		assertEquals(0, this.store.collect(GRACE_PERIOD, hash -> true));
+		assertTrue(Files.exists(content));
+	}
+
+	@Test
+	public void storingTheContentAgainRestartsTheGracePeriod() throws IOException {
+		Path content = this.store.resolve(store("again").getHash());
+		age(content);
+		store("again");
+
+		assertEquals(0, this.store.collect(GRACE_PERIOD, hash -> false));
+		assertTrue(Files.exists(content));
+	}
+
+	private StoredContent store(String content) throws IOException {
+		return this.store.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static void age(Path content) throws IOException {
+		Files.setLastModifiedTime(content, FileTime.fromMillis(System.currentTimeMillis() - 2 * GRACE_PERIOD));
+	}
+}
@@ -1,7 +1,15 @@
 package com.example.helpdesk;
 
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
@@ -9,8 +17,20 @@ import org.springframework.test.context.junit4.SpringRunner;
 @SpringBootTest
 public class HelpDeskApplicationTests {
 
+	@Autowired
+	private DataSourcePublicMetrics dataSourcePublicMetrics;
+
 	@Test
 	public void contextLoads() {
 	}
 
+	@Test
+	public void connectionPoolMetricsArePublishedThroughTheTimedDataSource() {
+		Set<String> names = this.dataSourcePublicMetrics.metrics().stream().map(Metric::getName)
+				.collect(Collectors.toSet());
+
+		assertTrue(names.toString(), names.contains("datasource.primary.active"));
+		assertTrue(names.toString(), names.contains("datasource.primary.usage"));
+	}
+
 }
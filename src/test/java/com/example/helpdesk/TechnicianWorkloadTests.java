@@ -0,0 +1,89 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+import com.example.helpdesk.service.impl.TechnicianWorkload;
+
+public class TechnicianWorkloadTests {
+
+	private static final LocalDate OPENED = LocalDate.of(2018, 3, 1);
+
+	private final TechnicianWorkload workload = new TechnicianWorkload();
+
+	@Test
+	public void assignmentAndCloseAreBucketedPerDay() {
+		this.workload.record(event(PriorityEnum.High, StatusEnum.New, null, StatusEnum.Assigned, 7L),
+				OPENED.plusDays(2));
+		this.workload.record(event(PriorityEnum.High, StatusEnum.Approved, 7L, StatusEnum.Closed, 7L),
+				OPENED.plusDays(6));
+
+		List<TechnicianStats> stats = this.workload.snapshot(OPENED, OPENED.plusDays(10), null);
+		assertEquals(1, stats.size());
+		TechnicianStats technician = stats.get(0);
+		assertEquals(Long.valueOf(7L), technician.getTechnicianId());
+		assertEquals(0, technician.getOpen());
+		assertEquals(1, technician.getAssigned());
+		assertEquals(2.0, technician.getAverageDaysToAssign(), 0);
+		assertEquals(1, technician.getClosed());
+		assertEquals(6.0, technician.getAverageDaysToClose(), 0);
+		assertEquals(2, technician.getDays().size());
+	}
+
+	@Test
+	public void reassignmentMovesTheOpenTicket() {
+		this.workload.record(event(PriorityEnum.Low, StatusEnum.New, null, StatusEnum.Assigned, 1L), OPENED);
+		this.workload.record(event(PriorityEnum.Low, StatusEnum.Disapproved, 1L, StatusEnum.Assigned, 2L),
+				OPENED.plusDays(1));
+
+		assertEquals(1, this.workload.snapshot(OPENED, OPENED, 2L).get(0).getOpen());
+		assertEquals(1, this.workload.snapshot(OPENED, OPENED, 1L).get(0).getAssigned());
+		assertEquals(0, this.workload.snapshot(OPENED, OPENED, 1L).get(0).getOpen());
+	}
+
+	@Test
+	public void daysOutsideTheRangeAreLeftOut() {
+		this.workload.record(event(PriorityEnum.Normal, StatusEnum.New, null, StatusEnum.Assigned, 3L),
+				OPENED.plusDays(5));
+
+		TechnicianStats technician = this.workload.snapshot(OPENED, OPENED.plusDays(4), null).get(0);
+		assertEquals(1, technician.getOpen());
+		assertEquals(0, technician.getAssigned());
+		assertTrue(technician.getDays().isEmpty());
+	}
+
+	@Test
+	public void deletedTicketsLeaveTheOpenTickets() {
+		this.workload.record(event(PriorityEnum.Normal, StatusEnum.New, null, StatusEnum.Assigned, 4L), OPENED);
+		TicketEvent deleted = event(PriorityEnum.Normal, StatusEnum.Assigned, 4L, StatusEnum.Assigned, 4L);
+		deleted.setType(TicketEventTypeEnum.DELETED);
+		this.workload.record(deleted, OPENED.plusDays(1));
+
+		TechnicianStats technician = this.workload.snapshot(OPENED, OPENED, 4L).get(0);
+		assertEquals(0, technician.getOpen());
+		assertEquals(1, technician.getAssigned());
+	}
+
+	private static TicketEvent event(PriorityEnum priority, StatusEnum previousStatus, Long previousAssigneeId,
+			StatusEnum status, Long assigneeId) {
+		TicketEvent event = new TicketEvent();
+		event.setType(previousStatus == status ? TicketEventTypeEnum.UPDATED : TicketEventTypeEnum.STATUS_CHANGED);
+		event.setDate(OPENED);
+		event.setPriority(priority);
+		event.setPreviousStatus(previousStatus);
+		event.setPreviousAssignedUserId(previousAssigneeId);
+		event.setStatus(status);
+		event.setAssignedUserId(assigneeId);
+		return event;
+	}
+}
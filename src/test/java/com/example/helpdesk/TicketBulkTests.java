@@ -0,0 +1,181 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.dto.BulkTransitionResult;
+import com.example.helpdesk.dto.BulkTransitionResult.TicketResult;
+import com.example.helpdesk.dto.ChangeStatusView;
+import com.example.helpdesk.dto.TicketFilter;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.repository.ChangeStatusRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.service.TicketBulkService;
+import com.example.helpdesk.service.UserService;
+import com.example.helpdesk.service.impl.TicketStatusCounter;
+
+/**
+ * Tickets are set up straight through the repository with an owner, and
+ * the status counters are rebuilt before each change, so only the moves of
+ * the bulk change show in them.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TicketBulkTests {
+
+	private static User customer;
+
+	private static User technician;
+
+	@Autowired
+	private TicketBulkService ticketBulkService;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private ChangeStatusRepository changeStatusRepository;
+
+	@Autowired
+	private TicketStatusCounter ticketStatusCounter;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Before
+	public void setUp() {
+		if (customer != null) {
+			return;
+		}
+		customer = user("customer.bulk@helpdesk.com", ProfileEnum.ROLE_CUSTOMER);
+		technician = user("technician.bulk@helpdesk.com", ProfileEnum.ROLE_TECHNICIAN);
+	}
+
+	@Test
+	public void ticketsAreAssignedByIdAndTheOthersRejected() {
+		Ticket first = save("Router down", StatusEnum.New, null);
+		Ticket second = save("Router slow", StatusEnum.New, null);
+		Ticket closed = save("Router noisy", StatusEnum.Closed, null);
+		long missingId = closed.getId() + 1000;
+		this.ticketStatusCounter.rebuild();
+		Map<StatusEnum, Long> before = this.ticketStatusCounter.snapshot();
+
+		BulkTransitionResult result = this.ticketBulkService.transition(
+				Arrays.asList(first.getId(), second.getId(), closed.getId(), missingId), null, StatusEnum.Assigned,
+				technician);
+
+		assertEquals(2, result.getChanged());
+		assertEquals(2, result.getRejected());
+		TicketResult rejected = result.getTickets().get(0);
+		assertEquals(closed.getId(), rejected.getId());
+		assertEquals(StatusEnum.Closed, rejected.getStatus());
+		assertEquals("The technician profile cannot change a ticket from Closed to Assigned", rejected.getMessage());
+		assertEquals("Register not found id: " + missingId, result.getTickets().get(1).getMessage());
+		assertChanged(first, StatusEnum.Assigned, technician);
+		assertChanged(second, StatusEnum.Assigned, technician);
+		assertEquals(closed.getVersion(), this.ticketRepository.findOne(closed.getId()).getVersion());
+		assertEquals(0, this.changeStatusRepository.findViewsByTicketId(closed.getId()).size());
+		Map<StatusEnum, Long> after = this.ticketStatusCounter.snapshot();
+		assertEquals(before.get(StatusEnum.New) - 2, (long) after.get(StatusEnum.New));
+		assertEquals(before.get(StatusEnum.Assigned) + 2, (long) after.get(StatusEnum.Assigned));
+		assertEquals(before.get(StatusEnum.Closed), after.get(StatusEnum.Closed));
+		assertEvent(first, StatusEnum.New, StatusEnum.Assigned, technician);
+		assertEvent(second, StatusEnum.New, StatusEnum.Assigned, technician);
+		assertEquals(0, events(closed).size());
+	}
+
+	@Test
+	public void ticketsMatchingTheFilterAreClosed() {
+		Ticket first = save("Laptop battery", StatusEnum.Approved, technician);
+		Ticket second = save("Laptop charger", StatusEnum.Approved, technician);
+		Ticket resolved = save("Laptop screen", StatusEnum.Resolved, technician);
+		this.ticketStatusCounter.rebuild();
+		Map<StatusEnum, Long> before = this.ticketStatusCounter.snapshot();
+		TicketFilter filter = new TicketFilter();
+		filter.setUserId(customer.getId());
+		filter.setTitle("laptop");
+
+		BulkTransitionResult result = this.ticketBulkService.transition(null, filter, StatusEnum.Closed, technician);
+
+		assertEquals(2, result.getChanged());
+		assertEquals(1, result.getRejected());
+		assertEquals(resolved.getId(), result.getTickets().get(0).getId());
+		assertEquals("The technician profile cannot change a ticket from Resolved to Closed", result.getTickets().get(0).getMessage());
+		assertChanged(first, StatusEnum.Closed, technician);
+		assertChanged(second, StatusEnum.Closed, technician);
+		assertEquals(StatusEnum.Resolved, this.ticketRepository.findOne(resolved.getId()).getStatus());
+		Map<StatusEnum, Long> after = this.ticketStatusCounter.snapshot();
+		assertEquals(before.get(StatusEnum.Approved) - 2, (long) after.get(StatusEnum.Approved));
+		assertEquals(before.get(StatusEnum.Closed) + 2, (long) after.get(StatusEnum.Closed));
+		assertEquals(before.get(StatusEnum.Resolved), after.get(StatusEnum.Resolved));
+		assertEvent(first, StatusEnum.Approved, StatusEnum.Closed, technician);
+		assertEvent(second, StatusEnum.Approved, StatusEnum.Closed, technician);
+	}
+
+	private void assertChanged(Ticket ticket, StatusEnum status, User assignedUser) {
+		Ticket changed = this.ticketRepository.findOne(ticket.getId());
+		assertEquals(status, changed.getStatus());
+		assertEquals(ticket.getVersion() + 1, (long) changed.getVersion());
+		assertEquals(assignedUser.getId(), this.jdbcTemplate.queryForObject(
+				"select assigned_user_id from ticket where id = ?", Long.class, ticket.getId()));
+		List<ChangeStatusView> changes = this.changeStatusRepository.findViewsByTicketId(ticket.getId());
+		assertEquals(1, changes.size());
+		assertEquals(status, changes.get(0).getStatus());
+		assertEquals(technician.getId(), changes.get(0).getUserChange().getId());
+		assertEquals(LocalDate.now(), changes.get(0).getDateChangeStatus());
+	}
+
+	private void assertEvent(Ticket ticket, StatusEnum previousStatus, StatusEnum status, User assignedUser) {
+		List<Map<String, Object>> events = events(ticket);
+		assertEquals(1, events.size());
+		Map<String, Object> event = events.get(0);
+		assertEquals("STATUS_CHANGED", event.get("type"));
+		assertEquals(previousStatus.name(), event.get("previous_status"));
+		assertEquals(status.name(), event.get("status"));
+		assertEquals(customer.getId(), event.get("user_id"));
+		assertEquals(assignedUser.getId(), event.get("assigned_user_id"));
+		assertEquals(ticket.getTitle(), event.get("title"));
+	}
+
+	private List<Map<String, Object>> events(Ticket ticket) {
+		return this.jdbcTemplate.queryForList("select * from ticket_event where ticket_id = ?", ticket.getId());
+	}
+
+	private Ticket save(String title, StatusEnum status, User assignedUser) {
+		Ticket ticket = new Ticket();
+		ticket.setTitle(title);
+		ticket.setStatus(status);
+		ticket.setPriority(PriorityEnum.Normal);
+		ticket.setDate(LocalDate.now());
+		ticket.setUser(customer);
+		ticket.setAssignedUser(assignedUser);
+		return this.ticketRepository.save(ticket);
+	}
+
+	private User user(String email, ProfileEnum profile) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword("$2a$10$mBulBb00T5QNpRVPP8tQcOFtQC8vOWnquMGuioYLhY0e9O1ouKEam");
+		user.setProfile(profile);
+		return this.userService.createOrUpdate(user);
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.dto.CursorPage;
+import com.example.helpdesk.dto.TicketSummaryView;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.service.TicketService;
+
+/**
+ * Every test filters on its own title, so only its tickets are paged.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TicketCursorTests {
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Test
+	public void ticketsWithoutADateArePagedLast() {
+		Ticket undated = save("Cursor paged undated", null);
+		Ticket older = save("Cursor paged older", LocalDate.now().minusDays(1));
+		Ticket newer = save("Cursor paged newer", LocalDate.now());
+		Ticket alsoUndated = save("Cursor paged also undated", null);
+
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<TicketSummaryView> page = this.ticketService.findByParameters(cursor, 1, "cursor paged", "", "");
+			page.getContent().forEach(ticket -> ids.add(ticket.getId()));
+			cursor = page.getNext();
+		} while (cursor != null);
+
+		assertEquals(Arrays.asList(newer.getId(), older.getId(), alsoUndated.getId(), undated.getId()), ids);
+	}
+
+	@Test
+	public void theCountIsCapped() {
+		save("Cursor capped", LocalDate.now());
+
+		CursorPage<TicketSummaryView> page = this.ticketService.findByParameters(null, Integer.MAX_VALUE, "cursor capped",
+				"", "");
+
+		assertEquals(1, page.getContent().size());
+		assertNull(page.getNext());
+	}
+
+	private Ticket save(String title, LocalDate date) {
+		Ticket ticket = new Ticket();
+		ticket.setTitle(title);
+		ticket.setStatus(StatusEnum.New);
+		ticket.setPriority(PriorityEnum.Normal);
+		ticket.setDate(date);
+		return this.ticketRepository.save(ticket);
+	}
+}
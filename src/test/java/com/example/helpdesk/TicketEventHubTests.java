@@ -0,0 +1,192 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.helpdesk.dto.TicketEvent;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.enums.TicketEventTypeEnum;
+import com.example.helpdesk.service.impl.TicketEventHub;
+
+/**
+ * The hub runs with a single sender thread and a queue of
+ * {@value #QUEUE_CAPACITY} events; the feeds are served by MockMvc, so what
+ * a subscriber received is the content of its response.
+ */
+public class TicketEventHubTests {
+
+	private static final int QUEUE_CAPACITY = 2;
+
+	private TicketEventHub hub;
+
+	@Before
+	public void setUp() {
+		this.hub = new TicketEventHub(1);
+		ReflectionTestUtils.setField(this.hub, "queueCapacity", QUEUE_CAPACITY);
+		ReflectionTestUtils.setField(this.hub, "maxSubscribers", 10);
+		ReflectionTestUtils.setField(this.hub, "timeout", 60000L);
+		ReflectionTestUtils.setField(this.hub, "heartbeatInterval", 60000L);
+	}
+
+	@After
+	public void tearDown() {
+		this.hub.close();
+	}
+
+	@Test
+	public void eventsAreFilteredByOwnerAssigneeAndStatus() throws Exception {
+		MockHttpServletResponse owner = subscribe(1L, null, null);
+		MockHttpServletResponse assignee = subscribe(null, 2L, null);
+		MockHttpServletResponse closed = subscribe(null, null, EnumSet.of(StatusEnum.Closed));
+
+		this.hub.publish(event(11L, 1L, 3L, null, StatusEnum.New));
+		this.hub.publish(event(12L, 4L, 2L, StatusEnum.New, StatusEnum.Assigned));
+		this.hub.publish(event(13L, 5L, 6L, StatusEnum.Closed, StatusEnum.Disapproved));
+		this.hub.publish(event(14L, 1L, 2L, StatusEnum.Resolved, StatusEnum.Closed));
+
+		awaitContent(owner, "\"ticketId\":14");
+		awaitContent(assignee, "\"ticketId\":14");
+		awaitContent(closed, "\"ticketId\":14");
+		assertReceived(owner, true, false, false);
+		assertReceived(assignee, false, true, false);
+		assertReceived(closed, false, false, true);
+	}
+
+	@Test
+	public void aSubscriberThatFallsBehindGetsOneResyncInsteadOfTheEvents() throws Exception {
+		MockHttpServletResponse response = subscribe(null, null, null);
+		CountDownLatch busy = new CountDownLatch(1);
+		senders().execute(() -> {
+			try {
+				busy.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		for (long id = 1; id <= QUEUE_CAPACITY + 2; id++) {
+			this.hub.publish(event(id, 1L, null, null, StatusEnum.New));
+		}
+		busy.countDown();
+		awaitContent(response, "event:resync");
+		this.hub.publish(event(20L, 1L, null, null, StatusEnum.New));
+		awaitContent(response, "\"ticketId\":20");
+
+		String content = response.getContentAsString();
+		assertEquals(content.indexOf("event:resync"), content.lastIndexOf("event:resync"));
+		assertFalse(content, content.contains("\"ticketId\":1,"));
+		assertFalse(content, content.contains("\"ticketId\":" + (QUEUE_CAPACITY + 2) + ","));
+		assertEquals(1, this.hub.getSubscribers());
+	}
+
+	@Test
+	public void idleSubscribersGetAHeartbeat() throws Exception {
+		MockHttpServletResponse response = subscribe(null, null, null);
+
+		this.hub.heartbeat();
+		Thread.sleep(100);
+		assertEquals("", response.getContentAsString());
+
+		ReflectionTestUtils.setField(this.hub, "heartbeatInterval", 0L);
+		this.hub.heartbeat();
+		awaitContent(response, ":heartbeat");
+	}
+
+	@Test
+	public void subscribersThatCannotBeWrittenAreRemoved() throws Exception {
+		SseEmitter emitter = this.hub.subscribe(null, null, null);
+		emitter.complete();
+		assertEquals(1, this.hub.getSubscribers());
+
+		this.hub.publish(event(30L, 1L, null, null, StatusEnum.New));
+
+		await(() -> this.hub.getSubscribers() == 0);
+	}
+
+	private MockHttpServletResponse subscribe(Long userId, Long assignedUserId, Set<StatusEnum> statuses)
+			throws Exception {
+		FeedController controller = new FeedController(() -> this.hub.subscribe(userId, assignedUserId, statuses));
+		return MockMvcBuilders.standaloneSetup(controller).build().perform(get("/events"))
+				.andExpect(request().asyncStarted()).andReturn().getResponse();
+	}
+
+	private ThreadPoolTaskExecutor senders() {
+		return (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(this.hub, "senders");
+	}
+
+	private static void assertReceived(MockHttpServletResponse response, boolean first, boolean second,
+			boolean third) throws Exception {
+		String content = response.getContentAsString();
+		assertEquals(content, first, content.contains("\"ticketId\":11"));
+		assertEquals(content, second, content.contains("\"ticketId\":12"));
+		assertEquals(content, third, content.contains("\"ticketId\":13"));
+	}
+
+	private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		await(() -> {
+			try {
+				return response.getContentAsString().contains(expected);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(response.getContentAsString().contains(expected));
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Condition not met within 5 seconds");
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private static TicketEvent event(Long ticketId, Long userId, Long assignedUserId, StatusEnum previousStatus,
+			StatusEnum status) {
+		TicketEvent event = new TicketEvent();
+		event.setType(previousStatus == null ? TicketEventTypeEnum.CREATED : TicketEventTypeEnum.STATUS_CHANGED);
+		event.setTicketId(ticketId);
+		event.setUserId(userId);
+		event.setAssignedUserId(assignedUserId);
+		event.setPreviousStatus(previousStatus);
+		event.setStatus(status);
+		return event;
+	}
+
+	@RestController
+	public static class FeedController {
+
+		private final Supplier<SseEmitter> feed;
+
+		FeedController(Supplier<SseEmitter> feed) {
+			this.feed = feed;
+		}
+
+		@GetMapping("/events")
+		public SseEmitter events() {
+			return this.feed.get();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.dto.TechnicianStats;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.impl.TechnicianWorkload;
+import com.example.helpdesk.service.impl.TicketEventRelay;
+
+/**
+ * The scheduled relay is pushed back so only the test reads the events.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "ticket.events.relay-interval=3600000")
+public class TicketEventRelayTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private TicketEventRelay ticketEventRelay;
+
+	@Autowired
+	private TechnicianWorkload technicianWorkload;
+
+	@Test
+	public void eventsOfOtherInstancesAreRelayedOnce() {
+		this.ticketEventRelay.relay();
+		this.jdbcTemplate.update("insert into ticket_event (origin, created, type, ticket_id, status) "
+				+ "values ('another-instance', ?, 'CREATED', 1, 'New')", Timestamp.valueOf(LocalDateTime.now()));
+
+		assertEquals(1, this.ticketEventRelay.relay());
+		assertEquals(0, this.ticketEventRelay.relay());
+	}
+
+	@Test
+	public void assignmentsOfOtherInstancesReachTheTechnicianWorkload() {
+		this.ticketEventRelay.relay();
+		this.jdbcTemplate.update("insert into ticket_event (origin, created, type, ticket_id, status, previous_status, "
+				+ "priority, assigned_user_id, date) values ('another-instance', ?, 'STATUS_CHANGED', 2, 'Assigned', "
+				+ "'New', 'High', 9001, ?)", Timestamp.valueOf(LocalDateTime.now()),
+				Date.valueOf(LocalDate.now().minusDays(3)));
+
+		assertEquals(1, this.ticketEventRelay.relay());
+		TechnicianStats technician = this.technicianWorkload.snapshot(LocalDate.now(), LocalDate.now(), 9001L).get(0);
+		assertEquals(1, technician.getOpen());
+		assertEquals(1, technician.getAssigned());
+		assertEquals(3.0, technician.getAverageDaysToAssign(), 0);
+	}
+
+	@Test
+	public void eventsOfThisInstanceAreStoredButNotRelayedBack() {
+		this.ticketEventRelay.relay();
+		Ticket ticket = new Ticket();
+		ticket.setTitle("Keyboard");
+		ticket.setPriority(PriorityEnum.Low);
+		ticket.setStatus(StatusEnum.New);
+		ticket.setDate(LocalDate.now());
+		ticket = this.ticketService.createOrUpdate(ticket);
+		this.ticketService.delete(ticket.getId());
+		this.ticketService.delete(ticket.getId());
+
+		assertEquals(Integer.valueOf(2), this.jdbcTemplate.queryForObject(
+				"select count(*) from ticket_event where ticket_id = ?", Integer.class, ticket.getId()));
+		assertEquals(0, this.ticketEventRelay.relay());
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.dto.ImportResult;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.DataFormatEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.service.TicketImportService;
+import com.example.helpdesk.service.UserService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TicketImportTests {
+
+	private static User customer;
+
+	@Autowired
+	private TicketImportService ticketImportService;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Before
+	public void setUp() {
+		if (customer != null) {
+			return;
+		}
+		User user = new User();
+		user.setEmail("customer.import@helpdesk.com");
+		user.setPassword("$2a$10$mBulBb00T5QNpRVPP8tQcOFtQC8vOWnquMGuioYLhY0e9O1ouKEam");
+		user.setProfile(ProfileEnum.ROLE_CUSTOMER);
+		customer = this.userService.createOrUpdate(user);
+	}
+
+	@Test
+	public void ndjsonRowsAreImportedAndBadLinesReported() throws IOException {
+		long before = this.ticketRepository.count();
+		String body = "{\"title\":\"Printer\",\"priority\":\"High\"}\n"
+				+ "{\"description\":\"no title\"}\n"
+				+ "\n"
+				+ "{\"title\":\"Screen\",\"status\":\"New\",\"date\":\"2018-01-31\"}\n"
+				+ "{\"title\":\"Mouse\",\"priority\":\"Urgent\"}\n"
+				+ "{\"title\":\"Speaker\",\"status\":\"Closed\"}\n";
+
+		ImportResult result = this.ticketImportService.importTickets(new StringReader(body), DataFormatEnum.NDJSON,
+				customer);
+
+		assertEquals(2, result.getImported());
+		assertEquals(3, result.getRejected());
+		assertEquals(2, result.getErrors().get(0).getLine());
+		assertEquals("Title no information", result.getErrors().get(0).getMessage());
+		assertEquals(5, result.getErrors().get(1).getLine());
+		assertEquals("Invalid priority: Urgent", result.getErrors().get(1).getMessage());
+		assertEquals(6, result.getErrors().get(2).getLine());
+		assertEquals("Imported tickets are New, not Closed", result.getErrors().get(2).getMessage());
+		assertEquals(before + 2, this.ticketRepository.count());
+	}
+
+	@Test
+	public void csvRowsAreMappedByTheHeader() throws IOException {
+		String body = "priority, title ,description\n"
+				+ "Low,Keyboard,Some keys do not work\n"
+				+ "Normal,,Missing title\n";
+
+		ImportResult result = this.ticketImportService.importTickets(new StringReader(body), DataFormatEnum.CSV,
+				customer);
+
+		assertEquals(1, result.getImported());
+		assertEquals(1, result.getRejected());
+		assertEquals(3, result.getErrors().get(0).getLine());
+	}
+
+	@Test
+	public void csvQuotedFieldsMaySpanLines() throws IOException {
+		long before = this.ticketRepository.count();
+		String body = "title,description,status\n"
+				+ "Webcam,\"Blurry image,\nsince the update\",New\n"
+				+ "Headset,\"Left side\nis silent\",Resolved\n"
+				+ "\n"
+				+ "Dock,Does not charge,\n"
+				+ "Cable,Too short,New,2018-01-31\n";
+
+		ImportResult result = this.ticketImportService.importTickets(new StringReader(body), DataFormatEnum.CSV,
+				customer);
+
+		assertEquals(2, result.getImported());
+		assertEquals(2, result.getRejected());
+		assertEquals(4, result.getErrors().get(0).getLine());
+		assertEquals("Imported tickets are New, not Resolved", result.getErrors().get(0).getMessage());
+		assertEquals(8, result.getErrors().get(1).getLine());
+		assertEquals(before + 2, this.ticketRepository.count());
+	}
+}
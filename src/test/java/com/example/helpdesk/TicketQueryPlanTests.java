@@ -0,0 +1,104 @@
+package com.example.helpdesk;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.service.TicketService;
+
+/**
+ * Checks that the ticket queries are answered from the indexes created by the
+ * migrations instead of a table scan. The statements explained are the ones
+ * Hibernate sends for each service call, recorded by
+ * {@link RecordingStatementInspector}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.helpdesk.TicketQueryPlanTests$RecordingStatementInspector")
+public class TicketQueryPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Test
+	public void findByCurrentUserUsesUserDateIndex() {
+		assertThat(explain(() -> this.ticketService.findByCurrentUser(0, 10, 1L)),
+				containsString("IX_TICKET_USER_DATE"));
+	}
+
+	@Test
+	public void findByNumberUsesUniqueNumberIndex() {
+		assertThat(explain(() -> this.ticketService.findByNumber(0, 10, 1L)), containsString("UX_TICKET_NUMBER"));
+	}
+
+	@Test
+	public void findByParameterAndAssignedUserUsesAssignedStatusDateIndex() {
+		assertThat(explain(() -> this.ticketService.findByParameterAndAssignedUser(0, 10, "", "Assigned", "", 1L,
+				null)), containsString("IX_TICKET_ASSIGNED_STATUS_DATE"));
+	}
+
+	@Test
+	public void findByParametersUsesStatusPriorityDateIndex() {
+		assertThat(explain(() -> this.ticketService.findByParameters(0, 10, "", "New", "High", null)),
+				containsString("IX_TICKET_STATUS_PRIORITY_DATE"));
+	}
+
+	@Test
+	public void lisChangeStatusUsesTicketDateIndex() {
+		assertThat(explain(() -> this.ticketService.lisChangeStatus(1L)),
+				containsString("IX_CHANGE_STATUS_TICKET_DATE"));
+	}
+
+	/**
+	 * Plan of the ordered statement the call sends, the page query rather than
+	 * its count.
+	 */
+	private String explain(Runnable call) {
+		List<String> statements = RecordingStatementInspector.record(call);
+		String sql = statements.stream().filter(statement -> statement.contains(" order by ")).findFirst()
+				.orElseThrow(() -> new AssertionError("No ordered statement in " + statements));
+		return this.jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+	}
+
+	/**
+	 * Keeps the SQL Hibernate prepares on the thread of a recorded call.
+	 */
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+		static List<String> record(Runnable call) {
+			List<String> statements = new ArrayList<>();
+			STATEMENTS.set(statements);
+			try {
+				call.run();
+			} finally {
+				STATEMENTS.remove();
+			}
+			return statements;
+		}
+
+		@Override
+		public String inspect(String sql) {
+			List<String> statements = STATEMENTS.get();
+			if (statements != null) {
+				statements.add(sql);
+			}
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.helpdesk.response.Response;
+import com.example.helpdesk.service.impl.TicketRequestExecutor;
+
+public class TicketRequestExecutorTests {
+
+	private final TicketRequestExecutor executor = new TicketRequestExecutor(new MockEnvironment()
+			.withProperty("ticket.async.interactive.threads", "1")
+			.withProperty("ticket.async.interactive.queue-capacity", "1")
+			.withProperty("ticket.async.interactive.timeout", "5000")
+			.withProperty("ticket.async.bulk.threads", "1")
+			.withProperty("ticket.async.bulk.queue-capacity", "1")
+			.withProperty("ticket.async.bulk.timeout", "30000")
+			.withProperty("ticket.async.timeout.search", "15000"));
+
+	@After
+	public void tearDown() {
+		this.executor.close();
+	}
+
+	@Test
+	public void readsTimeOutAfterTheirPoolOrEndpointTimeout() {
+		assertEquals(Long.valueOf(5000), this.executor.interactive("findById", this::ok).getTimeout());
+		assertEquals(Long.valueOf(30000), this.executor.bulk("findByParams", this::ok).getTimeout());
+		assertEquals(Long.valueOf(15000), this.executor.bulk("search", this::ok).getTimeout());
+	}
+
+	@Test
+	public void writesNeverTimeOut() {
+		assertEquals(Long.valueOf(-1), this.executor.interactiveWrite("create", this::ok).getTimeout());
+		assertEquals(Long.valueOf(-1), this.executor.bulkWrite("bulkTransition", this::ok).getTimeout());
+	}
+
+	private ResponseEntity<Response<String>> ok() {
+		return ResponseEntity.ok(new Response<String>());
+	}
+}
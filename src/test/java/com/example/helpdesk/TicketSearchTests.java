@@ -0,0 +1,122 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.helpdesk.dto.TicketSummaryView;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.impl.TicketSearchIndex;
+
+/**
+ * Tickets written straight through the repository stand for the writes of
+ * another instance, which this instance's search index never hears about.
+ * The index is loaded in the background, so every test first waits for it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TicketSearchTests {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private TicketSearchIndex ticketSearchIndex;
+
+	@Before
+	public void awaitLoaded() throws InterruptedException {
+		for (int i = 0; i < 100 && !this.ticketSearchIndex.isLoaded(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(this.ticketSearchIndex.isLoaded());
+	}
+
+	@Test
+	public void ticketsWrittenElsewhereAreIndexedByTheCatchUp() throws IOException {
+		Ticket ticket = this.ticketRepository.save(ticket("Laminator jammed"));
+		assertEquals(0, search("laminator").getTotalElements());
+
+		this.ticketSearchIndex.catchUp();
+
+		Page<TicketSummaryView> found = search("laminator");
+		assertEquals(1, found.getTotalElements());
+		assertEquals(ticket.getId(), found.getContent().get(0).getId());
+	}
+
+	@Test
+	public void ticketsDeletedElsewhereAreDroppedFromTheResults() throws IOException {
+		Ticket ticket = this.ticketRepository.save(ticket("Shredder overheats"));
+		this.ticketSearchIndex.catchUp();
+		this.ticketRepository.delete(ticket.getId());
+
+		Page<TicketSummaryView> found = search("shredder");
+		assertEquals(0, found.getTotalElements());
+		assertEquals(0, found.getContent().size());
+	}
+
+	@Test
+	public void aRestartCatchesUpFromTheCommittedIndexInsteadOfRebuildingIt() throws IOException {
+		Path directory = Files.createTempDirectory(Files.createDirectories(Paths.get("target", "search-index")),
+				"restart");
+		TicketSearchIndex before = index(directory);
+		before.load();
+		Ticket deleted = this.ticketRepository.save(ticket("Projector flickers"));
+		before.catchUp();
+		before.close();
+		this.ticketRepository.delete(deleted.getId());
+		Ticket written = this.ticketRepository.save(ticket("Projector lamp"));
+
+		TicketSearchIndex after = index(directory);
+		try {
+			after.load();
+			assertTrue(after.search("projector", null, null, 0, 10).getIds().contains(deleted.getId()));
+			assertTrue(after.search("lamp", null, null, 0, 10).getIds().contains(written.getId()));
+		} finally {
+			after.close();
+		}
+	}
+
+	/**
+	 * Index over the directory, as the application opens it on start.
+	 */
+	private TicketSearchIndex index(Path directory) throws IOException {
+		TicketSearchIndex index = new TicketSearchIndex(directory.toString(), 1000);
+		ReflectionTestUtils.setField(index, "ticketRepository", this.ticketRepository);
+		ReflectionTestUtils.setField(index, "catchUpOverlap", 60000L);
+		return index;
+	}
+
+	private Page<TicketSummaryView> search(String text) {
+		return this.ticketService.search(0, 10, text, null, null);
+	}
+
+	private static Ticket ticket(String title) {
+		Ticket ticket = new Ticket();
+		ticket.setTitle(title);
+		ticket.setPriority(PriorityEnum.Normal);
+		ticket.setStatus(StatusEnum.New);
+		ticket.setDate(LocalDate.now());
+		return ticket;
+	}
+}
@@ -0,0 +1,176 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.PriorityEnum;
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.security.jwt.JwtTokenUtil;
+import com.example.helpdesk.security.jwt.JwtUserFactory;
+import com.example.helpdesk.service.TicketService;
+import com.example.helpdesk.service.UserService;
+
+/**
+ * Fails when a ticket endpoint issues more SQL statements than a fixed budget,
+ * which is what an N+1 select over a page of tickets looks like.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TicketStatementCountTests {
+
+	private static final int MAX_STATEMENTS_PER_REQUEST = 5;
+
+	private static final int TICKETS = 20;
+
+	private static final int TECHNICIANS = 4;
+
+	private static String customerToken;
+
+	private static String technicianToken;
+
+	private static Long ticketId;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private JwtTokenUtil jwtTokenUtil;
+
+	@Before
+	public void setUp() {
+		if (customerToken != null) {
+			return;
+		}
+		User customer = user("customer.statements@helpdesk.com", ProfileEnum.ROLE_CUSTOMER);
+		User[] technicians = new User[TECHNICIANS];
+		for (int i = 0; i < TECHNICIANS; i++) {
+			technicians[i] = user("technician" + i + ".statements@helpdesk.com", ProfileEnum.ROLE_TECHNICIAN);
+		}
+		customerToken = this.jwtTokenUtil.generateToken(JwtUserFactory.create(customer));
+		technicianToken = this.jwtTokenUtil.generateToken(JwtUserFactory.create(technicians[0]));
+		for (int i = 0; i < TICKETS; i++) {
+			Ticket ticket = new Ticket();
+			ticket.setTitle("Printer " + i);
+			ticket.setDescription("The printer does not print");
+			ticket.setPriority(PriorityEnum.High);
+			ticket.setStatus(StatusEnum.New);
+			ticket.setUser(customer);
+			ticket.setDate(LocalDate.now());
+			ticket.setNumber(this.ticketService.nextNumber());
+			ticket = this.ticketService.createOrUpdate(ticket);
+			ticketId = ticket.getId();
+			for (int j = 0; j < TECHNICIANS; j++) {
+				exchange(HttpMethod.PUT, "/api/ticket/" + ticket.getId() + "/Assigned", "{}",
+						this.jwtTokenUtil.generateToken(JwtUserFactory.create(technicians[j])));
+			}
+		}
+	}
+
+	private User user(String email, ProfileEnum profile) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword("$2a$10$mBulBb00T5QNpRVPP8tQcOFtQC8vOWnquMGuioYLhY0e9O1ouKEam");
+		user.setProfile(profile);
+		return this.userService.createOrUpdate(user);
+	}
+
+	@Test
+	public void listPage() {
+		assertStatements(HttpMethod.GET, "/api/ticket/0/" + TICKETS, null, technicianToken);
+		assertStatements(HttpMethod.GET, "/api/ticket/0/" + TICKETS, null, customerToken);
+	}
+
+	@Test
+	public void filteredPage() {
+		assertStatements(HttpMethod.GET, "/api/ticket/0/" + TICKETS + "/0/printer/Assigned/uninformed/false", null,
+				technicianToken);
+		assertStatements(HttpMethod.GET, "/api/ticket/0/" + TICKETS + "/0/printer/uninformed/uninformed/true", null,
+				technicianToken);
+	}
+
+	@Test
+	public void cursorPage() {
+		assertStatements(HttpMethod.GET, "/api/ticket/cursor/" + TICKETS, null, customerToken);
+	}
+
+	@Test
+	public void detail() {
+		assertStatements(HttpMethod.GET, "/api/ticket/" + ticketId, null, customerToken);
+	}
+
+	@Test
+	public void histories() {
+		StringBuilder ids = new StringBuilder().append(ticketId);
+		for (long id = ticketId - TICKETS + 1; id < ticketId; id++) {
+			ids.append(',').append(id);
+		}
+		assertStatements(HttpMethod.GET, "/api/ticket/history?ids=" + ids, null, technicianToken);
+	}
+
+	@Test
+	public void search() {
+		assertStatements(HttpMethod.GET, "/api/ticket/search?text=printer&count=" + TICKETS, null, customerToken);
+	}
+
+	@Test
+	public void summary() {
+		assertStatements(HttpMethod.GET, "/api/ticket/summary", null, technicianToken);
+	}
+
+	@Test
+	public void createAndChangeStatus() {
+		assertStatements(HttpMethod.POST, "/api/ticket", "{\"title\":\"Scanner\",\"priority\":\"Low\"}",
+				customerToken);
+		assertStatements(HttpMethod.PUT, "/api/ticket/" + ticketId + "/Resolved", "{}", technicianToken);
+	}
+
+	private void assertStatements(HttpMethod method, String url, String body, String token) {
+		Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		ResponseEntity<String> response = exchange(method, url, body, token);
+		long statements = statistics.getPrepareStatementCount();
+		assertEquals(url + ": " + response.getBody(), HttpStatus.OK, response.getStatusCode());
+		assertTrue(method + " " + url + " issued " + statements + " statements",
+				statements <= MAX_STATEMENTS_PER_REQUEST);
+	}
+
+	private ResponseEntity<String> exchange(HttpMethod method, String url, String body, String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Authorization", token);
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return this.restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class);
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.helpdesk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import com.example.helpdesk.enums.ProfileEnum;
+import com.example.helpdesk.enums.StatusEnum;
+import com.example.helpdesk.service.impl.TransitionTable;
+
+public class TransitionTableTests {
+
+	private final TransitionTable workflow = TransitionTable.defaults();
+
+	@Test
+	public void technicianWorksTheTicket() {
+		assertTrue(this.workflow.allows(StatusEnum.New, StatusEnum.Assigned, ProfileEnum.ROLE_TECHNICIAN));
+		assertTrue(this.workflow.allows(StatusEnum.Assigned, StatusEnum.Resolved, ProfileEnum.ROLE_TECHNICIAN));
+		assertTrue(this.workflow.allows(StatusEnum.Approved, StatusEnum.Closed, ProfileEnum.ROLE_TECHNICIAN));
+		assertFalse(this.workflow.allows(StatusEnum.Resolved, StatusEnum.Approved, ProfileEnum.ROLE_TECHNICIAN));
+	}
+
+	@Test
+	public void customerReviewsTheResolution() {
+		assertEquals(EnumSet.of(StatusEnum.Approved, StatusEnum.Disapproved),
+				this.workflow.targets(StatusEnum.Resolved, ProfileEnum.ROLE_CUSTOMER));
+		assertFalse(this.workflow.allows(StatusEnum.New, StatusEnum.Assigned, ProfileEnum.ROLE_CUSTOMER));
+	}
+
+	@Test
+	public void closedTicketsStayClosed() {
+		for (ProfileEnum profile : ProfileEnum.values()) {
+			assertTrue(this.workflow.targets(StatusEnum.Closed, profile).isEmpty());
+		}
+		assertEquals("The technician profile cannot change a ticket from Closed to New",
+				this.workflow.reject(StatusEnum.Closed, StatusEnum.New, ProfileEnum.ROLE_TECHNICIAN));
+	}
+
+	@Test
+	public void rejectionListsTheAllowedTargets() {
+		assertNull(this.workflow.reject(StatusEnum.Assigned, StatusEnum.Resolved, ProfileEnum.ROLE_TECHNICIAN));
+		assertEquals("The technician profile cannot change a ticket from New to Closed, only to [Assigned]",
+				this.workflow.reject(StatusEnum.New, StatusEnum.Closed, ProfileEnum.ROLE_TECHNICIAN));
+	}
+
+	@Test
+	public void customWorkflow() {
+		TransitionTable custom = TransitionTable.builder()
+				.allow(ProfileEnum.ROLE_CUSTOMER, StatusEnum.New, StatusEnum.Closed)
+				.build();
+		assertTrue(custom.allows(StatusEnum.New, StatusEnum.Closed, ProfileEnum.ROLE_CUSTOMER));
+		assertFalse(custom.allows(StatusEnum.New, StatusEnum.Assigned, ProfileEnum.ROLE_TECHNICIAN));
+	}
+
+	@Test
+	public void statusNamesResolveExactly() {
+		assertEquals(StatusEnum.Disapproved, StatusEnum.getStatus("Disapproved"));
+		assertNull(StatusEnum.getStatus("closed"));
+		assertNull(StatusEnum.getStatus(null));
+	}
+}